@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Prueba de carga con objetivos de latencia y errores (SLO): arranca la aplicación contra una base
+# H2 en memoria, lanza la mezcla de escenarios de LoadTest y termina con error si algún SLO no se cumple.
+# Los SLO por defecto están en LoadTest (DEFAULT_SLO) y se cambian con -Dloadtest.slo[.escenario]=...
+#
+# Uso: scripts/loadtest-slo.sh [clientes] [duración_s] [propiedades -D adicionales...]
+# Ejemplo: scripts/loadtest-slo.sh 20 60 -Dloadtest.slo.get-by-id='p99<=200'
+# Resultado: target/loadtest-slo.json
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CLIENTS="${1:-20}"
+DURATION="${2:-60}"
+shift $(( $# < 2 ? $# : 2 ))
+PORT="${LOADTEST_PORT:-8080}"
+
+mvn -B -q -DskipTests package
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+java ${JAVA_OPTS:-} -jar "$JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active=prod \
+    --spring.datasource.url="jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" \
+    --alumnos.rate-limit.enabled=false \
+    --alumnos.concurrency-limit.enabled=false \
+    > target/loadtest-slo.log 2>&1 &
+PID=$!
+trap "kill $PID 2>/dev/null || true" EXIT
+
+for _ in $(seq 1 60); do
+    curl -s -o /dev/null "http://localhost:${PORT}/v3/api-docs" && break
+    sleep 1
+done
+
+# El código de salida de Maven es el resultado de la prueba (distinto de 0 si no se cumple algún SLO)
+mvn -B -q -Ploadtest -DskipTests verify \
+    -Dloadtest.url="http://localhost:${PORT}" \
+    -Dloadtest.clients="$CLIENTS" \
+    -Dloadtest.duration="$DURATION" \
+    -Dloadtest.label=slo \
+    -Dloadtest.result=target/loadtest-slo.json \
+    "$@"
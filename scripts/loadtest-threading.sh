@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compara el pool de hilos de plataforma con los hilos virtuales (perfil "virtual", Java 21+)
+# Arranca la aplicación en cada modo contra una base H2 en memoria y lanza la prueba de carga
+# (sin SLO: con miles de clientes en bucle cerrado la latencia la fija el número de clientes).
+#
+# Uso: scripts/loadtest-threading.sh [clientes] [duración_s]
+# Resultados: target/loadtest-platform.json y target/loadtest-virtual.json
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CLIENTS="${1:-1000}"
+DURATION="${2:-30}"
+PORT="${LOADTEST_PORT:-8080}"
+
+# En Java 17 el perfil virtual no tiene efecto: los dos modos serían la misma configuración
+JAVA_MAJOR="$(java -version 2>&1 | awk -F'"' '/version/ {split($2, v, "."); print (v[1] == "1" ? v[2] : v[1]) + 0; exit}')"
+if [ "${JAVA_MAJOR:-0}" -lt 21 ]; then
+    echo "Los hilos virtuales requieren Java 21 o superior (java -version: ${JAVA_MAJOR:-desconocida})" >&2
+    exit 1
+fi
+
+mvn -B -q -DskipTests package
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+
+run_mode() {
+    local label="$1" profiles="$2"
+    echo "== Modo: ${label}"
+    java ${JAVA_OPTS:-} -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.profiles.active="$profiles" \
+        --spring.datasource.url="jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" \
+        --alumnos.rate-limit.enabled=false \
+        --alumnos.concurrency-limit.enabled=false \
+        > "target/loadtest-${label}.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    for _ in $(seq 1 60); do
+        curl -s -o /dev/null "http://localhost:${PORT}/v3/api-docs" && break
+        sleep 1
+    done
+
+    mvn -B -q -Ploadtest -DskipTests verify \
+        -Dloadtest.url="http://localhost:${PORT}" \
+        -Dloadtest.clients="$CLIENTS" \
+        -Dloadtest.duration="$DURATION" \
+        -Dloadtest.label="$label" \
+        -Dloadtest.slo.enabled=false \
+        -Dloadtest.result="target/loadtest-${label}.json"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform prod
+run_mode virtual prod,virtual
@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera petición correcta y la memoria residente (RSS) en ese momento
+# para cada modo de arranque, frente al arranque actual (baseline):
+#   baseline   java -jar del jar ejecutable, perfil prod
+#   extracted  el mismo jar extraído (java -Djarmode=tools -jar ... extract): sin jars anidados
+#   lazy       extracted + perfil fast (inicialización diferida, sin validación del esquema)
+#   aot        lazy + contexto procesado en compilación (-Dspring.aot.enabled=true)
+#   aot-cds    aot + archivo CDS generado en una ejecución de entrenamiento
+# Cada arranque usa una base H2 en memoria nueva; la petición es GET /api/alumnos/paginated autenticada.
+# RSS se lee de /proc (solo Linux).
+#
+# Uso: scripts/startup-benchmark.sh [arranques_por_modo]
+# Resultados: target/startup/results.csv (un arranque por fila) y la mediana de cada modo en pantalla
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${STARTUP_PORT:-8080}"
+MANAGEMENT_PORT="${STARTUP_MANAGEMENT_PORT:-8081}"
+OUT=target/startup
+URL="http://localhost:${PORT}/api/alumnos/paginated?page=0&size=1"
+
+# El jar incluye las clases AOT (perfiles prod,fast); sin -Dspring.aot.enabled=true no se usan
+mvn -B -q -Pfast-startup -DskipTests package
+JAR="$(ls target/*.jar | grep -v plain | head -n 1)"
+rm -rf "$OUT"
+mkdir -p "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT/app" > /dev/null
+APP="$OUT/app/$(basename "$JAR")"
+
+ARGS=(--server.port="$PORT" --management.server.port="$MANAGEMENT_PORT"
+      "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1")
+
+# Arranca la aplicación, espera a la primera respuesta 200 y deja en START_MS y START_RSS_MB las medidas
+start_app() {
+    local log="$1"; shift
+    local start
+    start=$(date +%s%N)
+    java ${JAVA_OPTS:-} "$@" "${ARGS[@]}" > "$log" 2>&1 &
+    APP_PID=$!
+    until curl -sf -o /dev/null -u admin:password123 "$URL"; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "La aplicación no arrancó (ver $log)" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    START_MS=$(( ($(date +%s%N) - start) / 1000000 ))
+    START_RSS_MB=$(( $(awk '/VmRSS/ {print $2}' "/proc/$APP_PID/status") / 1024 ))
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+}
+
+measure() {
+    local mode="$1"; shift
+    echo "== Modo: ${mode}"
+    for run in $(seq 1 "$RUNS"); do
+        start_app "$OUT/${mode}-${run}.log" "$@"
+        echo "${mode},${run},${START_MS},${START_RSS_MB}" >> "$OUT/results.csv"
+        stop_app
+    done
+}
+
+AOT=(-Dspring.aot.enabled=true -Dspring.profiles.active=prod,fast)
+
+# Entrenamiento CDS: arranque con una petición servida; las clases cargadas se archivan al salir
+echo "== Entrenamiento CDS"
+start_app "$OUT/cds-training.log" -XX:ArchiveClassesAtExit="$OUT/app.jsa" "${AOT[@]}" -jar "$APP"
+stop_app
+
+echo "mode,run,first_request_ms,rss_mb" > "$OUT/results.csv"
+measure baseline -Dspring.profiles.active=prod -jar "$JAR"
+measure extracted -Dspring.profiles.active=prod -jar "$APP"
+measure lazy -Dspring.profiles.active=prod,fast -jar "$APP"
+measure aot "${AOT[@]}" -jar "$APP"
+measure aot-cds -XX:SharedArchiveFile="$OUT/app.jsa" "${AOT[@]}" -jar "$APP"
+
+median() {
+    grep "^$1," "$OUT/results.csv" | cut -d, -f"$2" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p"
+}
+
+echo
+echo "Mediana de ${RUNS} arranques:"
+printf "%-10s %20s %8s\n" modo primera_peticion_ms rss_mb
+for mode in baseline extracted lazy aot aot-cds; do
+    printf "%-10s %20s %8s\n" "$mode" "$(median "$mode" 3)" "$(median "$mode" 4)"
+done
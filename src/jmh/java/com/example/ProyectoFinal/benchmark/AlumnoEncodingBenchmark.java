@@ -0,0 +1,106 @@
+package com.example.ProyectoFinal.benchmark;
+
+import com.example.ProyectoFinal.dto.AlumnoColumnsPage;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks de las codificaciones de una página de alumnos: tiempo de serialización
+ * (y compresión gzip, si se indica) y bytes enviados por la red
+ * 
+ * Formatos: pageimpl (JSON de PageImpl, el formato anterior), json (PagedModel),
+ * columnar, cbor y smile. El tamaño de cada combinación se imprime al terminar
+ * 
+ * Ejecutar: mvn -Pbenchmark -DskipTests verify -Djmh.include=AlumnoEncodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlumnoEncodingBenchmark {
+
+    @Param({"pageimpl", "json", "columnar", "cbor", "smile"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            Alumno alumno = new Alumno((long) i, BenchmarkContext.nombre(i), "alumno" + i + "@ejemplo.com",
+                    LocalDate.of(2024, 9, 1).plusDays(i));
+            alumno.setVersion(i % 3);
+            alumno.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i * 97L));
+            alumnos.add(alumno);
+        }
+        Page<Alumno> page = new PageImpl<>(alumnos, PageRequest.of(0, pageSize, Sort.by("id")), 100_000);
+        payload = switch (format) {
+            case "pageimpl" -> page;
+            case "columnar" -> AlumnoColumnsPage.of(page);
+            default -> new PagedModel<>(page);
+        };
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        if (!"gzip".equals(compression)) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    @TearDown
+    public void report() throws IOException {
+        System.out.printf("%n[bytes] format=%s compression=%s pageSize=%d -> %d bytes%n",
+                format, compression, pageSize, encode().length);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ProyectoFinal.benchmark;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la serialización JSON de las respuestas de la API (Alumno y Page&lt;Alumno&gt;)
+ * Usa un ObjectMapper configurado igual que el de Spring Boot
+ * 
+ * Ejecutar: mvn -Pbenchmark -DskipTests verify -Djmh.include=AlumnoSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlumnoSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Alumno alumno;
+    private List<Alumno> alumnos;
+    private Page<Alumno> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        alumnos = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            alumnos.add(new Alumno((long) i, BenchmarkContext.nombre(i), "alumno" + i + "@ejemplo.com",
+                    LocalDate.of(2024, 9, 1).plusDays(i)));
+        }
+        alumno = alumnos.get(0);
+        page = new PageImpl<>(alumnos, PageRequest.of(0, PAGE_SIZE, Sort.by("id")), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializeAlumno() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(alumno);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(alumnos);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
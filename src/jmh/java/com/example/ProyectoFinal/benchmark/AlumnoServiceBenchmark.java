@@ -0,0 +1,123 @@
+package com.example.ProyectoFinal.benchmark;
+
+import com.example.ProyectoFinal.dto.AlumnoView;
+import com.example.ProyectoFinal.dto.CursorPage;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.repository.AlumnoField;
+import com.example.ProyectoFinal.repository.AlumnoSortKey;
+import com.example.ProyectoFinal.service.AlumnoService;
+import com.example.ProyectoFinal.service.KeysetCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks de los caminos más usados de AlumnoService contra tablas de 10k, 100k y 1M alumnos
+ * 
+ * Ejecutar: mvn -Pbenchmark -DskipTests verify -Djmh.include=AlumnoServiceBenchmark
+ * Para comparar la memoria asignada por fila (entidades frente a proyecciones) añadir
+ * -Djmh.args="-prof gc" y dividir gc.alloc.rate.norm de listPage* entre LIST_PAGE_SIZE
+ * source=columnar sirve las lecturas desde la copia en columnas (AlumnoColumnStore)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlumnoServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int LIST_PAGE_SIZE = 500;
+    private static final Set<AlumnoField> LIST_FIELDS = EnumSet.of(AlumnoField.ID, AlumnoField.NOMBRE);
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"database", "columnar"})
+    public String source;
+
+    private ConfigurableApplicationContext context;
+    private AlumnoService alumnoService;
+    private PageRequest deepPage;
+    private PageRequest listPage;
+    private String deepCursor;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("service" + rows + source,
+                "alumnos.column-store.enabled=" + "columnar".equals(source),
+                "alumnos.column-store.snapshot-path=target/benchmark-columns/service" + rows);
+        BenchmarkContext.seed(context, rows);
+        alumnoService = context.getBean(AlumnoService.class);
+
+        // Última página completa: el peor caso para OFFSET
+        deepPage = PageRequest.of(rows / PAGE_SIZE - 1, PAGE_SIZE, Sort.by("id"));
+        listPage = PageRequest.of(1, LIST_PAGE_SIZE, Sort.by("id"));
+        Alumno anterior = alumnoService.getAlumnoById((long) rows - PAGE_SIZE);
+        deepCursor = KeysetCursor.after(anterior, AlumnoSortKey.ID, true).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Alumno getAlumnoById() {
+        return alumnoService.getAlumnoById(ThreadLocalRandom.current().nextLong(1, rows + 1));
+    }
+
+    @Benchmark
+    public Page<Alumno> searchAlumnosByNombre() {
+        return alumnoService.searchAlumnosByNombre("maria garc", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Alumno> getAllAlumnosPaginatedDeepOffset() {
+        return alumnoService.getAllAlumnosPaginated(deepPage);
+    }
+
+    @Benchmark
+    public Page<Alumno> listPageEntities() {
+        return alumnoService.getAllAlumnosPaginated(listPage);
+    }
+
+    @Benchmark
+    public Page<AlumnoView> listPageFields() {
+        return alumnoService.getAllAlumnosPaginated(listPage, LIST_FIELDS);
+    }
+
+    @Benchmark
+    public CursorPage<Alumno> getAlumnosByCursorDeep() {
+        return alumnoService.getAlumnosByCursor(AlumnoSortKey.ID, true, deepCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Alumno createAlumno() {
+        long n = emailSequence.incrementAndGet();
+        return alumnoService.createAlumno(new Alumno(null, "Alumno Benchmark " + n,
+                "benchmark" + n + "@ejemplo.com", null));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.ProyectoFinal.benchmark;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.service.AlumnoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Arranque y CRUD contra la base de datos H2 en fichero con la configuración de almacenamiento
+ * y pool de conexiones de cada perfil (dev: valores por defecto de H2 y Hikari; prod: ajustados)
+ *
+ * Ejecutar: mvn -Pbenchmark -DskipTests verify -Djmh.include=AlumnoStorageBenchmark
+ * - startup: arranque completo sobre una base de datos con rows alumnos (Flyway, validación del
+ *   esquema, pool de conexiones, índice de búsqueda y filtro de emails), en segundos
+ * - crud / crudConcurrent: alta, lectura, modificación y baja de un alumno con 1 y 4 hilos
+ * La base de datos se crea en target/benchmark-storage/{perfil}; el registro SQL del perfil dev
+ * se desactiva para que solo cambie la configuración de almacenamiento
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlumnoStorageBenchmark {
+
+    /**
+     * Base de datos en fichero creada y cargada una vez por ejecución
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({"dev", "prod"})
+        public String profile;
+
+        @Param({"100000"})
+        public int rows;
+
+        private Path path;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            Path directory = Path.of("target", "benchmark-storage", profile);
+            FileSystemUtils.deleteRecursively(directory);
+            path = directory.resolve("alumnosdb").toAbsolutePath();
+            try (ConfigurableApplicationContext context = start()) {
+                BenchmarkContext.seed(context, rows);
+            }
+        }
+
+        private ConfigurableApplicationContext start() {
+            return BenchmarkContext.startFile(profile, path);
+        }
+    }
+
+    /**
+     * Contexto arrancado en cada medida de startup; se cierra fuera de la medida
+     */
+    @State(Scope.Thread)
+    public static class Started {
+
+        private ConfigurableApplicationContext context;
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            if (context != null) {
+                context.close();
+                context = null;
+            }
+        }
+    }
+
+    /**
+     * Aplicación arrancada para los benchmarks de CRUD
+     */
+    @State(Scope.Benchmark)
+    public static class Running {
+
+        private ConfigurableApplicationContext context;
+        private AlumnoService alumnoService;
+        private final AtomicLong emailSequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp(Database database) {
+            context = database.start();
+            alumnoService = context.getBean(AlumnoService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ConfigurableApplicationContext startup(Database database, Started started) {
+        started.context = database.start();
+        return started.context;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public Alumno crud(Running running) {
+        return crudCycle(running);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public Alumno crudConcurrent(Running running) {
+        return crudCycle(running);
+    }
+
+    /**
+     * Cuatro transacciones: alta, lectura por ID, modificación y baja
+     */
+    private static Alumno crudCycle(Running running) {
+        AlumnoService alumnoService = running.alumnoService;
+        long n = running.emailSequence.incrementAndGet();
+        Alumno created = alumnoService.createAlumno(new Alumno(null, "Alumno Benchmark " + n,
+                "storage" + n + "@ejemplo.com", null));
+        Alumno alumno = alumnoService.getAlumnoById(created.getId());
+        Alumno updated = alumnoService.updateAlumno(alumno.getId(), new Alumno(null, "Alumno Modificado " + n,
+                alumno.getEmail(), null), null);
+        alumnoService.deleteAlumno(updated.getId());
+        return updated;
+    }
+}
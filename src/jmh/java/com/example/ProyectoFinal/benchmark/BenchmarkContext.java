@@ -0,0 +1,124 @@
+package com.example.ProyectoFinal.benchmark;
+
+import com.example.ProyectoFinal.ProyectoFinalApplication;
+import com.example.ProyectoFinal.columnar.AlumnoColumnStore;
+import com.example.ProyectoFinal.search.AlumnoSearchIndex;
+import com.example.ProyectoFinal.stats.AlumnoStatistics;
+import com.example.ProyectoFinal.uniqueness.EmailUniquenessFilter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades comunes de los benchmarks: arranque del contexto de Spring contra
+ * una base de datos H2 en memoria (o en fichero) y carga de datos de prueba
+ */
+final class BenchmarkContext {
+
+    private static final String[] NOMBRES = {
+        "María", "José", "Ana", "Juan", "Lucía", "Carlos", "Carmen", "Javier", "Laura", "David",
+        "Marta", "Daniel", "Paula", "Pablo", "Sara", "Alejandro", "Elena", "Jorge", "Isabel", "Álvaro"
+    };
+
+    private static final String[] APELLIDOS = {
+        "García", "Rodríguez", "González", "Fernández", "López", "Martínez", "Sánchez", "Pérez", "Gómez", "Martín",
+        "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez", "Romero", "Alonso", "Gutiérrez",
+        "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez", "Serrano", "Blanco", "Molina",
+        "Morales", "Suárez", "Ortega", "Delgado", "Castro", "Ortiz", "Rubio", "Marín", "Sanz", "Núñez",
+        "Iglesias", "Medina", "Garrido", "Cortés", "Castillo", "Santos", "Lozano", "Guerrero", "Cano", "Prieto"
+    };
+
+    private static final LocalDate FECHA_INICIAL = LocalDate.of(2020, 1, 1);
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Arranca la aplicación sin servidor web contra una base de datos H2 en memoria propia
+     * 
+     * @param database Nombre de la base de datos en memoria
+     * @param properties Propiedades adicionales (clave=valor)
+     * @return Contexto de Spring arrancado
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return run(List.of("spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1"), properties);
+    }
+
+    /**
+     * Arranca la aplicación sin servidor web contra una base de datos H2 en fichero,
+     * con la configuración de almacenamiento y pool de conexiones del perfil indicado
+     * 
+     * @param profile Perfil de Spring (dev o prod)
+     * @param path Ruta del fichero de la base de datos, sin extensión
+     * @param properties Propiedades adicionales (clave=valor)
+     * @return Contexto de Spring arrancado
+     */
+    static ConfigurableApplicationContext startFile(String profile, Path path, String... properties) {
+        return run(List.of("spring.profiles.active=" + profile, "alumnos.storage.path=" + path), properties);
+    }
+
+    private static ConfigurableApplicationContext run(List<String> database, String... properties) {
+        // Se pasan como argumentos de línea de comandos para que prevalezcan sobre application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        for (String property : database) {
+            args.add("--" + property);
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(ProyectoFinalApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Inserta alumnos con IDs 1..rows mediante JDBC por lotes y deja la aplicación
+     * lista para usarlos (secuencia de IDs avanzada, índice de búsqueda, estadísticas y copia en columnas reconstruidos)
+     * 
+     * @param context Contexto de Spring arrancado con {@link #start}
+     * @param rows Número de alumnos a insertar
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[] {(long) i, nombre(i), "alumno" + i + "@ejemplo.com",
+                    Date.valueOf(FECHA_INICIAL.plusDays(i % 2_000))});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate(
+                        "insert into alumnos (id, nombre, email, fecha_registro) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        // Los IDs siguientes deben quedar por encima de los insertados (optimizador pooled de 50)
+        jdbcTemplate.execute("alter sequence alumnos_seq restart with " + (rows + 100));
+        context.getBean(AlumnoSearchIndex.class).rebuild();
+        context.getBean(EmailUniquenessFilter.class).warmUp();
+        context.getBean(AlumnoStatistics.class).rebuild();
+        context.getBeanProvider(AlumnoColumnStore.class).ifAvailable(AlumnoColumnStore::rebuild);
+    }
+
+    /**
+     * Nombre completo determinista para el alumno i ("Nombre Apellido Apellido")
+     */
+    static String nombre(int i) {
+        return NOMBRES[i % NOMBRES.length] + " "
+                + APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length] + " "
+                + APELLIDOS[(i / (NOMBRES.length * APELLIDOS.length)) % APELLIDOS.length];
+    }
+}
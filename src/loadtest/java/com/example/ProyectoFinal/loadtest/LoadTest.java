@@ -0,0 +1,388 @@
+package com.example.ProyectoFinal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Prueba de carga en bucle cerrado contra una instancia de la API ya arrancada
+ * Cada cliente simulado lanza una petición, espera la respuesta y lanza la siguiente;
+ * las peticiones son asíncronas, de modo que miles de clientes no requieren miles de hilos
+ *
+ * Cada cliente elige un escenario según su peso (loadtest.scenarios, "nombre:peso" separados por comas):
+ * get-by-id, typeahead (sugerencias con prefijos de nombres), deep-page (páginas de la mitad final),
+ * create y update (ráfagas de loadtest.burst peticiones seguidas) y bad-credentials (HTTP Basic con
+ * contraseña incorrecta, se espera 401). El resto de peticiones usa HTTP Basic con loadtest.user
+ *
+ * Al terminar se comprueban los SLO (ver SloGate): si alguno no se cumple la ejecución falla
+ *
+ * Ejecutar: mvn -Ploadtest -DskipTests verify -Dloadtest.clients=1000
+ *
+ * Parámetros (propiedades del sistema):
+ * loadtest.url, loadtest.user, loadtest.password, loadtest.clients, loadtest.warmup (s),
+ * loadtest.duration (s), loadtest.seed (alumnos a cargar), loadtest.scenarios, loadtest.burst,
+ * loadtest.paths (en lugar de los escenarios: rutas GET separadas por comas, "{id}" se sustituye
+ * por un ID cargado), loadtest.slo, loadtest.slo.&lt;escenario&gt;, loadtest.slo.enabled,
+ * loadtest.label y loadtest.result (fichero JSON)
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_SCENARIOS =
+            "get-by-id:50,typeahead:20,deep-page:10,create:5,update:10,bad-credentials:1";
+
+    /**
+     * SLO por defecto, pensados para unas decenas de clientes (con miles, la latencia en bucle cerrado
+     * es el número de clientes dividido por el throughput y los objetivos no tienen sentido).
+     * bad-credentials paga BCrypt en cada petición: los intentos fallidos no se guardan en la caché
+     */
+    private static final Map<String, String> DEFAULT_SLO = Map.of(
+            SloGate.TOTAL, "p99<=1000,error-rate<=0.01",
+            "get-by-id", "p99<=500",
+            "typeahead", "p99<=500",
+            "deep-page", "p99<=1000",
+            "create", "p99<=1000,error-rate<=0.01",
+            "update", "p99<=1000,error-rate<=0.01",
+            "bad-credentials", "p99<=5000");
+
+    private static final int PAGE_SIZE = 20;
+
+    private final String baseUrl;
+    private final String authorization;
+    private final String badAuthorization;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong created = new AtomicLong();
+
+    private LoadTest(String baseUrl, String user, String password) {
+        this.baseUrl = baseUrl;
+        this.authorization = basic(user, password);
+        this.badAuthorization = basic(user, password + "-incorrecta");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(
+                System.getProperty("loadtest.url", "http://localhost:8080"),
+                System.getProperty("loadtest.user", "admin"),
+                System.getProperty("loadtest.password", "password123"));
+        int clients = Integer.getInteger("loadtest.clients", 1000);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        int duration = Integer.getInteger("loadtest.duration", 30);
+        int seed = Integer.getInteger("loadtest.seed", 1000);
+        int burst = Integer.getInteger("loadtest.burst", 10);
+        String label = System.getProperty("loadtest.label", "default");
+
+        long[] ids = loadTest.seed(seed);
+        String paths = System.getProperty("loadtest.paths");
+        List<Scenario> scenarios = paths != null && !paths.isBlank()
+                ? loadTest.pathScenarios(paths, ids)
+                : loadTest.scenarios(System.getProperty("loadtest.scenarios", DEFAULT_SCENARIOS), ids, burst);
+        SloGate sloGate = Boolean.parseBoolean(System.getProperty("loadtest.slo.enabled", "true"))
+                ? SloGate.fromSystemProperties(DEFAULT_SLO, scenarios.stream().map(Scenario::name).toList())
+                : SloGate.none();
+        System.out.printf("Carga '%s': %d clientes, %ds de calentamiento + %ds de medida, %d alumnos, escenarios %s%n",
+                label, clients, warmup, duration, ids.length,
+                scenarios.stream().map(s -> s.name() + ":" + s.weight()).toList());
+
+        LoadTestResult result = loadTest.run(label, clients, warmup, duration, scenarios, sloGate);
+        System.out.println(result.summary());
+
+        String output = System.getProperty("loadtest.result");
+        if (output != null && !output.isBlank()) {
+            Path path = Path.of(output);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            loadTest.objectMapper.writeValue(path.toFile(), result);
+        }
+        if (!result.sloViolations().isEmpty()) {
+            throw new IllegalStateException("La prueba de carga '" + label + "' no cumple "
+                    + result.sloViolations().size() + " SLO: " + String.join("; ", result.sloViolations()));
+        }
+    }
+
+    private static String basic(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Carga (o actualiza, al ser idempotente por email) alumnos mediante POST /api/alumnos/bulk
+     * El alumno ids[i] tiene el email loadtest{i + 1}@ejemplo.com
+     *
+     * @return IDs de los alumnos cargados
+     */
+    private long[] seed(int rows) throws IOException, InterruptedException {
+        if (rows <= 0) {
+            return new long[0];
+        }
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= rows; i++) {
+            body.append("{\"nombre\":\"Alumno García ").append(i)
+                    .append("\",\"email\":\"loadtest").append(i).append("@ejemplo.com\"}\n");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/alumnos/bulk"))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudieron cargar los alumnos: HTTP " + response.statusCode());
+        }
+        JsonNode rowsNode = objectMapper.readTree(response.body()).path("rows");
+        long[] ids = new long[rowsNode.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = rowsNode.get(i).path("id").asLong();
+        }
+        return ids;
+    }
+
+    private List<Scenario> scenarios(String spec, long[] ids, int burst) {
+        IntPredicate ok = status -> status >= 200 && status < 300;
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight <= 0) {
+                continue;
+            }
+            scenarios.add(switch (name) {
+                case "get-by-id" -> new Scenario(name, weight, 1, ok,
+                        () -> get("/api/alumnos/" + randomId(ids), authorization));
+                case "typeahead" -> new Scenario(name, weight, 1, ok,
+                        () -> get("/api/alumnos/search/suggest?limit=10&q=" + typeaheadPrefix(ids.length), authorization));
+                case "deep-page" -> new Scenario(name, weight, 1, ok,
+                        () -> get("/api/alumnos/paginated?size=" + PAGE_SIZE + "&page=" + deepPage(ids.length), authorization));
+                case "create" -> new Scenario(name, weight, burst, status -> status == 201, this::create);
+                // 409: otro cliente actualizó el mismo alumno a la vez (bloqueo optimista), respuesta correcta
+                case "update" -> new Scenario(name, weight, burst, ok.or(status -> status == 409), () -> update(ids));
+                case "bad-credentials" -> new Scenario(name, weight, 1, status -> status == 401,
+                        () -> get("/api/alumnos/" + randomId(ids), badAuthorization));
+                default -> throw new IllegalArgumentException("Escenario desconocido: " + name);
+            });
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.scenarios no incluye ningún escenario con peso: " + spec);
+        }
+        return scenarios;
+    }
+
+    /**
+     * Escenarios de loadtest.paths: una petición GET por ruta, con el mismo peso
+     */
+    private List<Scenario> pathScenarios(String paths, long[] ids) {
+        return Arrays.stream(paths.split(","))
+                .map(String::trim)
+                .map(path -> new Scenario(path, 1, 1, status -> status < 400,
+                        () -> get(path.replace("{id}", Long.toString(randomId(ids))), authorization)))
+                .toList();
+    }
+
+    private HttpRequest get(String path, String authorization) {
+        return request(path, authorization).GET().build();
+    }
+
+    private HttpRequest create() {
+        long n = created.incrementAndGet();
+        String body = "{\"nombre\":\"Alumno Carga " + n + "\",\"email\":\"carga-" + runId + "-" + n + "@ejemplo.com\"}";
+        return request("/api/alumnos", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest update(long[] ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(Math.max(ids.length, 1));
+        long id = ids.length == 0 ? 1 : ids[index];
+        // Conserva el email cargado para no chocar con el de otro alumno
+        String body = "{\"nombre\":\"Alumno García " + (index + 1) + (random.nextBoolean() ? " Editado" : "")
+                + "\",\"email\":\"loadtest" + (index + 1) + "@ejemplo.com\"}";
+        return request("/api/alumnos/" + id, authorization)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static long randomId(long[] ids) {
+        return ids.length == 0 ? 1 : ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    /**
+     * Lo que un usuario lleva escrito del nombre de un alumno cargado (al menos 3 caracteres)
+     */
+    private static String typeaheadPrefix(int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String nombre = "alumno garcía " + (1 + random.nextInt(Math.max(rows, 1)));
+        String prefix = nombre.substring(random.nextInt(0, 2) * "alumno ".length());
+        return URLEncoder.encode(prefix.substring(0, random.nextInt(3, prefix.length() + 1)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Página de la mitad final de los alumnos cargados (OFFSET alto)
+     */
+    private static int deepPage(int rows) {
+        int pages = Math.max((rows + PAGE_SIZE - 1) / PAGE_SIZE, 1);
+        return pages / 2 + ThreadLocalRandom.current().nextInt(pages - pages / 2);
+    }
+
+    private LoadTestResult run(String label, int clients, int warmupSeconds, int durationSeconds,
+                               List<Scenario> scenarios, SloGate sloGate) {
+        long start = System.nanoTime();
+        long measureStart = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureEnd = measureStart + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<Client> all = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(scenarios, measureStart, measureEnd);
+            all.add(client);
+            client.next();
+        }
+        CompletableFuture.allOf(all.stream().map(c -> c.done).toArray(CompletableFuture[]::new)).join();
+
+        List<ScenarioResult> results = new ArrayList<>(scenarios.size());
+        for (int s = 0; s < scenarios.size(); s++) {
+            int scenario = s;
+            results.add(ScenarioResult.of(scenarios.get(s).name(),
+                    latencies(all.stream().map(c -> c.recorders[scenario]).toList()),
+                    all.stream().mapToLong(c -> c.recorders[scenario].errors).sum(), durationSeconds));
+        }
+        List<Recorder> recorders = all.stream().flatMap(c -> Arrays.stream(c.recorders)).toList();
+        ScenarioResult total = ScenarioResult.of(SloGate.TOTAL, latencies(recorders),
+                recorders.stream().mapToLong(r -> r.errors).sum(), durationSeconds);
+        return LoadTestResult.of(label, clients, durationSeconds, total, results, sloGate.check(total, results));
+    }
+
+    private static long[] latencies(List<Recorder> recorders) {
+        long[] latencies = new long[recorders.stream().mapToInt(r -> r.count).sum()];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.count);
+            offset += recorder.count;
+        }
+        return latencies;
+    }
+
+    /**
+     * Tipo de petición de la prueba
+     *
+     * @param weight proporción de veces que los clientes eligen el escenario
+     * @param burst peticiones seguidas que envía el cliente cada vez que lo elige
+     * @param expected códigos de estado que cuentan como respuesta correcta
+     */
+    private record Scenario(String name, int weight, int burst, IntPredicate expected, Supplier<HttpRequest> request) {
+    }
+
+    /**
+     * Latencias y errores de un escenario en un cliente
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[64];
+        private int count;
+        private long errors;
+
+        private void record(long latency, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+
+    /**
+     * Cliente simulado: encadena peticiones hasta el final de la prueba y guarda sus
+     * propias latencias (respuestas recibidas durante la fase de medida), así que no
+     * comparte estado con los demás
+     */
+    private final class Client {
+
+        private final List<Scenario> scenarios;
+        private final int[] cumulativeWeights;
+        private final long measureStart;
+        private final long measureEnd;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Recorder[] recorders;
+        private int current;
+        private int remaining;
+
+        private Client(List<Scenario> scenarios, long measureStart, long measureEnd) {
+            this.scenarios = scenarios;
+            this.measureStart = measureStart;
+            this.measureEnd = measureEnd;
+            this.cumulativeWeights = new int[scenarios.size()];
+            this.recorders = new Recorder[scenarios.size()];
+            int sum = 0;
+            for (int i = 0; i < scenarios.size(); i++) {
+                sum += scenarios.get(i).weight();
+                cumulativeWeights[i] = sum;
+                recorders[i] = new Recorder();
+            }
+        }
+
+        private void next() {
+            long sent = System.nanoTime();
+            if (sent >= measureEnd) {
+                done.complete(null);
+                return;
+            }
+            if (remaining == 0) {
+                current = pick();
+                remaining = scenarios.get(current).burst();
+            }
+            remaining--;
+            Scenario scenario = scenarios.get(current);
+            Recorder recorder = recorders[current];
+            httpClient.sendAsync(scenario.request().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long received = System.nanoTime();
+                        if (received >= measureStart && received <= measureEnd) {
+                            recorder.record(received - sent,
+                                    failure == null && scenario.expected().test(response.statusCode()));
+                        }
+                        next();
+                    });
+        }
+
+        private int pick() {
+            int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ProyectoFinal.loadtest;
+
+import java.util.List;
+
+/**
+ * Resultado de una prueba de carga (latencias en milisegundos)
+ * Los campos de primer nivel son el total de todos los escenarios
+ */
+public record LoadTestResult(
+        String label,
+        int clients,
+        int durationSeconds,
+        long requests,
+        long errors,
+        double errorRate,
+        double throughput,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        List<ScenarioResult> scenarios,
+        List<String> sloViolations) {
+
+    static LoadTestResult of(String label, int clients, int durationSeconds, ScenarioResult total,
+                             List<ScenarioResult> scenarios, List<String> sloViolations) {
+        return new LoadTestResult(label, clients, durationSeconds, total.requests(), total.errors(),
+                total.errorRate(), total.throughput(), total.p50Ms(), total.p90Ms(), total.p99Ms(),
+                total.p999Ms(), total.maxMs(), scenarios, sloViolations);
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "[%s] %d peticiones (%d errores, %.2f%%) en %ds con %d clientes: %.1f req/s | p50 %.2f ms | p90 %.2f ms | p99 %.2f ms | p99.9 %.2f ms | max %.2f ms",
+                label, requests, errors, errorRate * 100, durationSeconds, clients, throughput,
+                p50Ms, p90Ms, p99Ms, p999Ms, maxMs));
+        for (ScenarioResult scenario : scenarios) {
+            summary.append(System.lineSeparator()).append("  ").append(scenario.summary());
+        }
+        if (sloViolations.isEmpty()) {
+            summary.append(System.lineSeparator()).append("SLO cumplidos");
+        }
+        for (String violation : sloViolations) {
+            summary.append(System.lineSeparator()).append("SLO incumplido: ").append(violation);
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ProyectoFinal.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Medidas de un escenario de la prueba de carga, o del total (latencias en milisegundos)
+ */
+public record ScenarioResult(
+        String name,
+        long requests,
+        long errors,
+        double errorRate,
+        double throughput,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs) {
+
+    /**
+     * @param latencies latencias en nanosegundos (se ordenan)
+     */
+    static ScenarioResult of(String name, long[] latencies, long errors, int durationSeconds) {
+        Arrays.sort(latencies);
+        int requests = latencies.length;
+        return new ScenarioResult(name, requests, errors,
+                requests == 0 ? 0 : errors / (double) requests,
+                requests / (double) durationSeconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), percentile(latencies, 0.999),
+                requests == 0 ? 0 : toMillis(latencies[requests - 1]));
+    }
+
+    /**
+     * Valor de una métrica por el nombre usado en los SLO (p50, p90, p99, p999, max, error-rate, throughput)
+     */
+    double metric(String metric) {
+        return switch (metric) {
+            case "p50" -> p50Ms;
+            case "p90" -> p90Ms;
+            case "p99" -> p99Ms;
+            case "p999" -> p999Ms;
+            case "max" -> maxMs;
+            case "error-rate" -> errorRate;
+            case "throughput" -> throughput;
+            default -> throw new IllegalArgumentException("Métrica desconocida: " + metric);
+        };
+    }
+
+    String summary() {
+        return String.format(
+                "%-16s %8d peticiones %6d errores (%.2f%%) %9.1f req/s | p50 %8.2f | p99 %8.2f | p99.9 %8.2f | max %8.2f ms",
+                name, requests, errors, errorRate * 100, throughput, p50Ms, p99Ms, p999Ms, maxMs);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(index, 0)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
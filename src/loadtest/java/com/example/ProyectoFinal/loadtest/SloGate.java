@@ -0,0 +1,90 @@
+package com.example.ProyectoFinal.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Objetivos de nivel de servicio (SLO) que debe cumplir la prueba de carga
+ *
+ * Cada objetivo es "métrica<=valor" o "métrica>=valor", separados por comas
+ * (ej: "p99<=500,error-rate<=0.01,throughput>=200"). Métricas: p50, p90, p99, p999 y max
+ * en milisegundos, error-rate (0-1) y throughput (req/s).
+ * loadtest.slo se aplica al total y loadtest.slo.&lt;escenario&gt; a un escenario; una propiedad
+ * vacía quita los objetivos por defecto de ese ámbito
+ */
+final class SloGate {
+
+    static final String TOTAL = "total";
+
+    private static final Set<String> METRICS = Set.of("p50", "p90", "p99", "p999", "max", "error-rate", "throughput");
+
+    private final List<Objective> objectives = new ArrayList<>();
+
+    private SloGate() {
+    }
+
+    static SloGate none() {
+        return new SloGate();
+    }
+
+    /**
+     * Objetivos por defecto sustituidos, ámbito a ámbito, por las propiedades del sistema
+     *
+     * @param defaults objetivos por ámbito ("total" o nombre del escenario)
+     * @param scenarios escenarios de la prueba (los demás ámbitos se ignoran)
+     */
+    static SloGate fromSystemProperties(Map<String, String> defaults, List<String> scenarios) {
+        SloGate gate = new SloGate();
+        gate.add(TOTAL, System.getProperty("loadtest.slo", defaults.getOrDefault(TOTAL, "")));
+        for (String scenario : scenarios) {
+            gate.add(scenario, System.getProperty("loadtest.slo." + scenario, defaults.getOrDefault(scenario, "")));
+        }
+        return gate;
+    }
+
+    private void add(String scope, String spec) {
+        for (String objective : spec.split(",")) {
+            objective = objective.trim();
+            if (objective.isEmpty()) {
+                continue;
+            }
+            boolean upperBound = objective.contains("<=");
+            String[] parts = objective.split(upperBound ? "<=" : ">=");
+            if (parts.length != 2 || (!upperBound && !objective.contains(">="))) {
+                throw new IllegalArgumentException("SLO no válido para " + scope + ": " + objective);
+            }
+            String metric = parts[0].trim();
+            if (!METRICS.contains(metric)) {
+                throw new IllegalArgumentException("Métrica desconocida en el SLO de " + scope + ": " + metric);
+            }
+            objectives.add(new Objective(scope, metric, upperBound, Double.parseDouble(parts[1].trim())));
+        }
+    }
+
+    /**
+     * @return descripción de cada objetivo incumplido (vacía si se cumplen todos)
+     */
+    List<String> check(ScenarioResult total, List<ScenarioResult> scenarios) {
+        List<String> violations = new ArrayList<>();
+        for (Objective objective : objectives) {
+            ScenarioResult result = TOTAL.equals(objective.scope()) ? total : scenarios.stream()
+                    .filter(s -> s.name().equals(objective.scope()))
+                    .findFirst()
+                    .orElseThrow();
+            double value = result.metric(objective.metric());
+            boolean met = objective.upperBound() ? value <= objective.limit() : value >= objective.limit();
+            if (!met) {
+                violations.add(String.format(Locale.ROOT, "%s %s = %.4f (objetivo %s %s)",
+                        objective.scope(), objective.metric(), value,
+                        objective.upperBound() ? "<=" : ">=", objective.limit()));
+            }
+        }
+        return violations;
+    }
+
+    private record Objective(String scope, String metric, boolean upperBound, double limit) {
+    }
+}
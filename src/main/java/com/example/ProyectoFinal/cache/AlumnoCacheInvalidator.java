@@ -0,0 +1,47 @@
+package com.example.ProyectoFinal.cache;
+
+import com.example.ProyectoFinal.config.CacheConfig;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantiene la caché de alumnos coherente con la base de datos
+ * Elimina de la caché los alumnos modificados o eliminados una vez confirmada la transacción,
+ * de modo que la siguiente lectura por ID vuelve a consultar la base de datos
+ *
+ * Una lectura que empezó antes de confirmarse el cambio puede terminar después de la
+ * invalidación con el valor anterior. Como AlumnoService.getAlumnoById carga la caché de
+ * forma sincronizada (Cache.get con cargador, computeIfAbsent en Caffeine), la invalidación
+ * de esa clave espera a que termine la carga en curso y elimina el valor que deja
+ */
+@Component
+public class AlumnoCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public AlumnoCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Invalida la entrada del alumno afectado por un cambio confirmado
+     * 
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        if (event.type() == AlumnoChangeType.CREATED) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.ALUMNOS_CACHE);
+        if (cache != null) {
+            cache.evict(event.id());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ProyectoFinal.cache;
+
+/**
+ * Estadísticas de uso de una caché
+ * 
+ * @param name Nombre de la caché
+ * @param size Número aproximado de entradas almacenadas
+ * @param hits Lecturas servidas desde la caché
+ * @param misses Lecturas que tuvieron que ir a la base de datos
+ * @param hitRate Proporción de aciertos (0.0 - 1.0)
+ * @param evictions Entradas expulsadas por tamaño o por tiempo de vida
+ */
+public record CacheStats(String name, long size, long hits, long misses, double hitRate, long evictions) {
+}
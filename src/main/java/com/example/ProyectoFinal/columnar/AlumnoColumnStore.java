@@ -0,0 +1,681 @@
+package com.example.ProyectoFinal.columnar;
+
+import com.example.ProyectoFinal.dto.AlumnoVersion;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Copia en memoria de la tabla alumnos organizada por columnas, para servir las lecturas
+ * por ID, por rango de IDs y por páginas ordenadas por ID sin consultar la base de datos
+ * ni crear entidades de Hibernate (alumnos.column-store.enabled=true)
+ *
+ * Cada columna es un array de tipo primitivo ordenado por ID: ids (long[]), fecha de registro
+ * en días desde 1970 (int[]), versión (long[]) y fecha de modificación en nanosegundos desde
+ * 1970 (long[]). Nombre y email se guardan en UTF-8 en un único byte[] compartido y cada fila
+ * guarda su posición y longitud. No hay ningún objeto por fila: los Alumno se crean solo para
+ * las filas que se devuelven
+ *
+ * Los cambios se aplican al terminar cada transacción que publica AlumnoChangeEvent: se leen
+ * de la base de datos los alumnos afectados (una consulta por transacción) y sus filas se
+ * actualizan, insertan o eliminan. Las lecturas de cambios y su aplicación están serializadas,
+ * así que la copia acaba igual que la base de datos aunque varias transacciones terminen a la vez.
+ * Se aplican antes de invalidar la caché de alumnos, para que esta no vuelva a cargar el estado anterior
+ *
+ * Al parar la aplicación se guarda en snapshot-path y al arrancar se lee con un mapeo en memoria,
+ * sin recorrer la tabla. El fichero se borra tras leerlo (si la aplicación no se para de forma
+ * ordenada, el siguiente arranque vuelve a leer la tabla) y solo se usa si el número de alumnos,
+ * el mayor ID, la suma de versiones y la última fecha de modificación coinciden con los de la
+ * base de datos: así se detectan también las modificaciones hechas con la aplicación parada
+ */
+@Component
+@ConditionalOnProperty(name = "alumnos.column-store.enabled", havingValue = "true")
+public class AlumnoColumnStore implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoColumnStore.class);
+    private static final String COLUMNS = "id, nombre, email, fecha_registro, version, updated_at";
+    private static final int REFRESH_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate newTransaction;
+    private final Path snapshotPath;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Serializa la lectura y la aplicación de cambios (y las recargas completas) */
+    private final Object refreshLock = new Object();
+
+    private Columns columns = new Columns(0, 0);
+    private volatile boolean ready;
+
+    @Autowired
+    public AlumnoColumnStore(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${alumnos.column-store.snapshot-path:./data/alumnos.columns}") String snapshotPath) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        // Los cambios se leen tras el commit, cuando la transacción original ya no admite consultas
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotPath = Path.of(snapshotPath);
+        Gauge.builder("alumnos.column-store.rows", this, AlumnoColumnStore::count)
+                .description("Alumnos en la copia en columnas")
+                .register(meterRegistry);
+        Gauge.builder("alumnos.column-store.bytes", this, store -> store.read(Columns::bytes))
+                .description("Memoria reservada por las columnas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga la copia antes de que el servidor acepte peticiones: desde el fichero si es válido
+     * o, si no, desde la base de datos
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!loadSnapshot()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Guarda la copia en el fichero (los cambios pendientes ya se han aplicado al parar)
+     */
+    @Override
+    public void destroy() {
+        if (ready) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Indica si la copia está cargada y al día; si no, las lecturas deben ir a la base de datos
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Vuelve a cargar la copia entera desde la base de datos
+     */
+    public void rebuild() {
+        synchronized (refreshLock) {
+            long start = System.nanoTime();
+            Columns loaded = new Columns(1_024, 64 * 1_024);
+            jdbc.query("select " + COLUMNS + " from alumnos order by id",
+                    (ResultSet rs) -> loaded.put(row(rs)));
+            replace(loaded);
+            log.info("Copia en columnas cargada desde la base de datos: {} alumnos en {} ms", loaded.size,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Anota el alumno afectado para releerlo al terminar la transacción
+     * Sin transacción (cambio ya confirmado) se relee en el momento
+     *
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @EventListener
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(event.id()));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ids.add(event.id());
+    }
+
+    /**
+     * Busca un alumno por su ID
+     *
+     * @return Alumno, o null si no existe
+     */
+    public Alumno findById(long id) {
+        return read(data -> {
+            int index = data.indexOf(id);
+            return index >= 0 ? data.alumno(index) : null;
+        });
+    }
+
+    /**
+     * Versión y fecha de modificación de un alumno
+     *
+     * @return Versión, o null si el alumno no existe
+     */
+    public AlumnoVersion findVersionById(long id) {
+        return read(data -> {
+            int index = data.indexOf(id);
+            return index >= 0 ? new AlumnoVersion(id, data.versions[index], data.updatedAt(index)) : null;
+        });
+    }
+
+    /**
+     * Todos los alumnos ordenados por ID
+     */
+    public List<Alumno> findAll() {
+        return findPage(0, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Página de alumnos ordenados por ID
+     *
+     * @param offset Posición del primer alumno
+     * @param limit Número máximo de alumnos
+     * @param ascending true para orden ascendente
+     */
+    public List<Alumno> findPage(long offset, int limit, boolean ascending) {
+        return read(data -> {
+            int from = (int) Math.min(offset, data.size);
+            int to = (int) Math.min(offset + limit, data.size);
+            List<Alumno> alumnos = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                alumnos.add(data.alumno(ascending ? i : data.size - 1 - i));
+            }
+            return alumnos;
+        });
+    }
+
+    /**
+     * Alumnos con ID posterior (o anterior, en orden descendente) al indicado
+     *
+     * @param lastId ID a partir del que empezar (excluido), o null para empezar por el extremo
+     * @param ascending true para orden ascendente
+     * @param limit Número máximo de alumnos
+     */
+    public List<Alumno> findAfter(Long lastId, boolean ascending, int limit) {
+        return read(data -> {
+            int position = lastId != null ? data.indexOf(lastId) : -1;
+            List<Alumno> alumnos = new ArrayList<>(Math.min(limit, 1_024));
+            if (ascending) {
+                int from = lastId == null ? 0 : position >= 0 ? position + 1 : -position - 1;
+                for (int i = from; i < data.size && alumnos.size() < limit; i++) {
+                    alumnos.add(data.alumno(i));
+                }
+            } else {
+                int to = lastId == null ? data.size : position >= 0 ? position : -position - 1;
+                for (int i = to - 1; i >= 0 && alumnos.size() < limit; i--) {
+                    alumnos.add(data.alumno(i));
+                }
+            }
+            return alumnos;
+        });
+    }
+
+    /**
+     * Número de alumnos
+     */
+    public int count() {
+        return read(data -> data.size);
+    }
+
+    private <T> T read(Function<Columns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replace(Columns loaded) {
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    /**
+     * Lee de la base de datos el estado actual de los alumnos indicados y lo copia en las columnas
+     * Si falla, la copia deja de usarse y se vuelve a cargar entera en el siguiente cambio
+     */
+    private void refresh(Collection<Long> ids) {
+        synchronized (refreshLock) {
+            try {
+                if (!ready) {
+                    rebuild();
+                    return;
+                }
+                List<Long> pending = new ArrayList<>(ids);
+                List<Row> rows = new ArrayList<>(pending.size());
+                newTransaction.executeWithoutResult(status -> {
+                    NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+                    for (int i = 0; i < pending.size(); i += REFRESH_BATCH_SIZE) {
+                        List<Long> batch = pending.subList(i, Math.min(i + REFRESH_BATCH_SIZE, pending.size()));
+                        rows.addAll(named.query("select " + COLUMNS + " from alumnos where id in (:ids)",
+                                Map.of("ids", batch), (rs, rowNum) -> row(rs)));
+                    }
+                });
+                lock.writeLock().lock();
+                try {
+                    Set<Long> deleted = new HashSet<>(pending);
+                    for (Row row : rows) {
+                        columns.put(row);
+                        deleted.remove(row.id);
+                    }
+                    deleted.forEach(columns::remove);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (RuntimeException ex) {
+                ready = false;
+                log.warn("No se pudieron aplicar {} cambios en la copia en columnas; se lee de la base de datos"
+                        + " hasta volver a cargarla: {}", ids.size(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lee el fichero de la copia si existe y coincide con la base de datos, y lo borra
+     *
+     * @return true si la copia se ha cargado desde el fichero
+     */
+    boolean loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            Columns loaded = Columns.read(snapshotPath);
+            Files.delete(snapshotPath);
+            Fingerprint database = jdbc.queryForObject("select count(*), coalesce(max(id), 0),"
+                    + " coalesce(sum(version), 0), max(updated_at) from alumnos", (rs, rowNum) -> {
+                        OffsetDateTime maxUpdatedAt = rs.getObject(4, OffsetDateTime.class);
+                        return new Fingerprint(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                                maxUpdatedAt != null ? maxUpdatedAt.toInstant() : null);
+                    });
+            Fingerprint snapshot = loaded.fingerprint();
+            if (!snapshot.equals(database)) {
+                log.info("La copia en columnas guardada no coincide con la base de datos ({} frente a {}): se carga"
+                        + " desde la base de datos", snapshot, database);
+                return false;
+            }
+            synchronized (refreshLock) {
+                replace(loaded);
+            }
+            log.info("Copia en columnas cargada desde {}: {} alumnos en {} ms", snapshotPath, loaded.size,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo leer la copia en columnas de {}: {}", snapshotPath, ex.getMessage());
+            try {
+                Files.deleteIfExists(snapshotPath);
+            } catch (IOException ignored) {
+                // Se volverá a intentar borrar en el siguiente arranque
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la copia en el fichero (se escribe en uno temporal y se renombra)
+     */
+    void saveSnapshot() {
+        long start = System.nanoTime();
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        lock.writeLock().lock();
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            columns.write(temporary);
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Copia en columnas guardada en {}: {} alumnos en {} ms", snapshotPath, columns.size,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo guardar la copia en columnas en {}: {}", snapshotPath, ex.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Row row(ResultSet rs) throws SQLException {
+        OffsetDateTime updatedAt = rs.getObject(6, OffsetDateTime.class);
+        return new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, LocalDate.class),
+                rs.getLong(5), updatedAt != null ? updatedAt.toInstant() : null);
+    }
+
+    /**
+     * Resumen de la tabla con el que se comprueba si la copia guardada sigue al día: número de
+     * alumnos, mayor ID (altas y bajas), suma de versiones y última modificación (cambios)
+     */
+    private record Fingerprint(long count, long maxId, long versionSum, Instant maxUpdatedAt) {
+    }
+
+    private record Row(long id, String nombre, String email, LocalDate fechaRegistro, long version, Instant updatedAt) {
+    }
+
+    /**
+     * Alumnos cambiados en la transacción actual
+     * Se releen tras el commit, antes que los @TransactionalEventListener (orden por defecto: el último)
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            refresh(ids);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AlumnoColumnStore.this);
+            if (status != STATUS_COMMITTED) {
+                // Puede incluir cambios de transacciones internas (REQUIRES_NEW) que sí se confirmaron
+                refresh(ids);
+            }
+        }
+    }
+
+    /**
+     * Columnas de la tabla, sin sincronización (la protege el cerrojo de AlumnoColumnStore)
+     *
+     * Formato del fichero (little-endian): cabecera de 32 bytes (MAGIC, FORMAT_VERSION, filas,
+     * bytes de texto y 16 reservados), columnas de 8 bytes (ids, versions, updatedAt), de 4 bytes
+     * (fechas, posiciones de nombre y email), de 2 bytes (longitudes) y el texto en UTF-8
+     */
+    private static final class Columns {
+
+        private static final int MAGIC = 0x53434C41;
+        private static final int FORMAT_VERSION = 1;
+        private static final int HEADER_SIZE = 32;
+        private static final int ROW_SIZE = 3 * Long.BYTES + 3 * Integer.BYTES + 2 * Short.BYTES;
+        private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+        private int size;
+        private long[] ids;
+        private int[] fechas;
+        private long[] versions;
+        private long[] updatedAt;
+        private int[] nombreOffsets;
+        private short[] nombreLengths;
+        private int[] emailOffsets;
+        private short[] emailLengths;
+        private byte[] text;
+        private int textSize;
+        /** Bytes de texto que ya no usa ninguna fila */
+        private int garbage;
+
+        private Columns(int capacity, int textCapacity) {
+            ids = new long[capacity];
+            fechas = new int[capacity];
+            versions = new long[capacity];
+            updatedAt = new long[capacity];
+            nombreOffsets = new int[capacity];
+            nombreLengths = new short[capacity];
+            emailOffsets = new int[capacity];
+            emailLengths = new short[capacity];
+            text = new byte[textCapacity];
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        private Fingerprint fingerprint() {
+            long versionSum = 0;
+            long maxUpdatedAt = NO_TIMESTAMP;
+            for (int i = 0; i < size; i++) {
+                versionSum += versions[i];
+                maxUpdatedAt = Math.max(maxUpdatedAt, updatedAt[i]);
+            }
+            return new Fingerprint(size, size > 0 ? ids[size - 1] : 0, versionSum,
+                    maxUpdatedAt != NO_TIMESTAMP ? Instant.ofEpochSecond(0, maxUpdatedAt) : null);
+        }
+
+        private long bytes() {
+            return (long) ids.length * ROW_SIZE + text.length;
+        }
+
+        private Alumno alumno(int index) {
+            Alumno alumno = new Alumno(ids[index], string(nombreOffsets[index], nombreLengths[index]),
+                    string(emailOffsets[index], emailLengths[index]), LocalDate.ofEpochDay(fechas[index]));
+            alumno.setVersion(versions[index]);
+            alumno.setUpdatedAt(updatedAt(index));
+            return alumno;
+        }
+
+        private Instant updatedAt(int index) {
+            return updatedAt[index] != NO_TIMESTAMP ? Instant.ofEpochSecond(0, updatedAt[index]) : null;
+        }
+
+        private String string(int offset, short length) {
+            return new String(text, offset, length, StandardCharsets.UTF_8);
+        }
+
+        private void put(Row row) {
+            int index = indexOf(row.id);
+            if (index < 0) {
+                index = -index - 1;
+                insertAt(index);
+                ids[index] = row.id;
+                nombreLengths[index] = 0;
+                emailLengths[index] = 0;
+            }
+            fechas[index] = Math.toIntExact(row.fechaRegistro.toEpochDay());
+            versions[index] = row.version;
+            updatedAt[index] = row.updatedAt != null
+                    ? Math.addExact(Math.multiplyExact(row.updatedAt.getEpochSecond(), 1_000_000_000L),
+                            row.updatedAt.getNano())
+                    : NO_TIMESTAMP;
+            byte[] nombre = row.nombre.getBytes(StandardCharsets.UTF_8);
+            if (!sameText(nombreOffsets[index], nombreLengths[index], nombre)) {
+                int previous = nombreLengths[index];
+                nombreOffsets[index] = append(nombre);
+                nombreLengths[index] = (short) nombre.length;
+                garbage += previous;
+            }
+            byte[] email = row.email.getBytes(StandardCharsets.UTF_8);
+            if (!sameText(emailOffsets[index], emailLengths[index], email)) {
+                int previous = emailLengths[index];
+                emailOffsets[index] = append(email);
+                emailLengths[index] = (short) email.length;
+                garbage += previous;
+            }
+        }
+
+        private void remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return;
+            }
+            garbage += nombreLengths[index] + emailLengths[index];
+            int moved = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, moved);
+            System.arraycopy(fechas, index + 1, fechas, index, moved);
+            System.arraycopy(versions, index + 1, versions, index, moved);
+            System.arraycopy(updatedAt, index + 1, updatedAt, index, moved);
+            System.arraycopy(nombreOffsets, index + 1, nombreOffsets, index, moved);
+            System.arraycopy(nombreLengths, index + 1, nombreLengths, index, moved);
+            System.arraycopy(emailOffsets, index + 1, emailOffsets, index, moved);
+            System.arraycopy(emailLengths, index + 1, emailLengths, index, moved);
+            size--;
+        }
+
+        /**
+         * Abre hueco en la posición indicada (los IDs nuevos casi siempre van al final)
+         */
+        private void insertAt(int index) {
+            if (size == ids.length) {
+                int capacity = Math.max(16, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, capacity);
+                fechas = Arrays.copyOf(fechas, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+                nombreOffsets = Arrays.copyOf(nombreOffsets, capacity);
+                nombreLengths = Arrays.copyOf(nombreLengths, capacity);
+                emailOffsets = Arrays.copyOf(emailOffsets, capacity);
+                emailLengths = Arrays.copyOf(emailLengths, capacity);
+            }
+            int moved = size - index;
+            if (moved > 0) {
+                System.arraycopy(ids, index, ids, index + 1, moved);
+                System.arraycopy(fechas, index, fechas, index + 1, moved);
+                System.arraycopy(versions, index, versions, index + 1, moved);
+                System.arraycopy(updatedAt, index, updatedAt, index + 1, moved);
+                System.arraycopy(nombreOffsets, index, nombreOffsets, index + 1, moved);
+                System.arraycopy(nombreLengths, index, nombreLengths, index + 1, moved);
+                System.arraycopy(emailOffsets, index, emailOffsets, index + 1, moved);
+                System.arraycopy(emailLengths, index, emailLengths, index + 1, moved);
+            }
+            size++;
+        }
+
+        private boolean sameText(int offset, short length, byte[] value) {
+            return length == value.length && Arrays.equals(text, offset, offset + length, value, 0, value.length);
+        }
+
+        /**
+         * Añade texto al final; si no cabe y más de la mitad es basura, antes se compacta
+         */
+        private int append(byte[] value) {
+            if (textSize + value.length > text.length) {
+                if (garbage > textSize / 2) {
+                    compact();
+                }
+                if (textSize + value.length > text.length) {
+                    text = Arrays.copyOf(text, Math.max(textSize + value.length, text.length * 2));
+                }
+            }
+            System.arraycopy(value, 0, text, textSize, value.length);
+            int offset = textSize;
+            textSize += value.length;
+            return offset;
+        }
+
+        /**
+         * Copia el texto de las filas en orden, sin huecos
+         */
+        private void compact() {
+            byte[] compacted = new byte[Math.max(text.length, textSize - garbage)];
+            int position = 0;
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(text, nombreOffsets[i], compacted, position, nombreLengths[i]);
+                nombreOffsets[i] = position;
+                position += nombreLengths[i];
+                System.arraycopy(text, emailOffsets[i], compacted, position, emailLengths[i]);
+                emailOffsets[i] = position;
+                position += emailLengths[i];
+            }
+            text = compacted;
+            textSize = position;
+            garbage = 0;
+        }
+
+        private void write(Path path) throws IOException {
+            compact();
+            long length = HEADER_SIZE + (long) size * ROW_SIZE + textSize;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(textSize);
+                buffer.position(HEADER_SIZE);
+                for (long[] column : new long[][] {ids, versions, updatedAt}) {
+                    buffer.asLongBuffer().put(column, 0, size);
+                    buffer.position(buffer.position() + size * Long.BYTES);
+                }
+                for (int[] column : new int[][] {fechas, nombreOffsets, emailOffsets}) {
+                    buffer.asIntBuffer().put(column, 0, size);
+                    buffer.position(buffer.position() + size * Integer.BYTES);
+                }
+                for (short[] column : new short[][] {nombreLengths, emailLengths}) {
+                    buffer.asShortBuffer().put(column, 0, size);
+                    buffer.position(buffer.position() + size * Short.BYTES);
+                }
+                buffer.put(text, 0, textSize);
+                buffer.force();
+            }
+        }
+
+        private static Columns read(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC
+                        || buffer.getInt() != FORMAT_VERSION) {
+                    throw new IOException("formato desconocido");
+                }
+                int size = buffer.getInt();
+                int textSize = buffer.getInt();
+                if (size < 0 || textSize < 0 || channel.size() != HEADER_SIZE + (long) size * ROW_SIZE + textSize) {
+                    throw new IOException("fichero incompleto");
+                }
+                Columns columns = new Columns(size, textSize);
+                buffer.position(HEADER_SIZE);
+                for (long[] column : new long[][] {columns.ids, columns.versions, columns.updatedAt}) {
+                    buffer.asLongBuffer().get(column, 0, size);
+                    buffer.position(buffer.position() + size * Long.BYTES);
+                }
+                for (int[] column : new int[][] {columns.fechas, columns.nombreOffsets, columns.emailOffsets}) {
+                    buffer.asIntBuffer().get(column, 0, size);
+                    buffer.position(buffer.position() + size * Integer.BYTES);
+                }
+                for (short[] column : new short[][] {columns.nombreLengths, columns.emailLengths}) {
+                    buffer.asShortBuffer().get(column, 0, size);
+                    buffer.position(buffer.position() + size * Short.BYTES);
+                }
+                buffer.get(columns.text, 0, textSize);
+                columns.size = size;
+                columns.textSize = textSize;
+                return columns;
+            }
+        }
+    }
+}
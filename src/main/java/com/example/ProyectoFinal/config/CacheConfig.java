@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración de la caché de la aplicación
+ * El proveedor (Caffeine), los nombres de caché y sus límites de tamaño y
+ * tiempo de vida se definen en application.properties (spring.cache.*)
+ * 
+ * La caché se evalúa antes que la transacción (order menor), de modo que un
+ * acierto en caché no abre una transacción ni obtiene una conexión del pool
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Caché de alumnos por ID
+     */
+    public static final String ALUMNOS_CACHE = "alumnos";
+}
@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * Evita que Hikari descarte la conexión cuando una sentencia se cancela
+ * 
+ * Las consultas con plazo (cabecera X-Request-Timeout) se cancelan al vencer y el driver
+ * responde con SQLSTATE 57014; la conexión sigue siendo válida, así que se devuelve al pool
+ * en lugar de cerrarla y abrir otra. Se registra en
+ * spring.datasource.hikari.exception-override-class-name
+ */
+public class CancelledQueryExceptionOverride implements SQLExceptionOverride {
+
+    private static final String QUERY_CANCELED = "57014";
+
+    @java.lang.Override
+    public Override adjudicate(SQLException ex) {
+        return QUERY_CANCELED.equals(ex.getSQLState()) ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ProyectoFinal.config;
+
+import com.example.ProyectoFinal.metrics.QueriesPerRequestFilter;
+import com.example.ProyectoFinal.metrics.QueryCountingStatementInspector;
+import com.example.ProyectoFinal.metrics.SlowRepositoryInvocationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.time.Duration;
+
+/**
+ * Configuración de métricas propias de la aplicación
+ * Las métricas estándar (latencia HTTP, llamadas a repositorios, Hibernate, Hikari y JVM)
+ * las registra Spring Boot Actuator; aquí se añaden las sentencias SQL por petición y el
+ * log de consultas lentas
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public QueryCountingStatementInspector queryCountingStatementInspector() {
+        return new QueryCountingStatementInspector();
+    }
+
+    /**
+     * Registra el contador de sentencias SQL en Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(QueryCountingStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueriesPerRequestFilter> queriesPerRequestFilter(
+            QueryCountingStatementInspector inspector, MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new QueriesPerRequestFilter(inspector, meterRegistry));
+    }
+
+    @Bean
+    public SlowRepositoryInvocationListener slowRepositoryInvocationListener(
+            @Value("${alumnos.metrics.slow-query-threshold:200ms}") Duration threshold) {
+        return new SlowRepositoryInvocationListener(threshold);
+    }
+
+    /**
+     * Añade el listener de consultas lentas a todos los repositorios de Spring Data
+     * Es estático para registrarse antes de que se creen los repositorios
+     */
+    @Bean
+    public static BeanPostProcessor slowRepositoryInvocationListenerPostProcessor(
+            ObjectProvider<SlowRepositoryInvocationListener> listener) {
+        SingletonSupplier<SlowRepositoryInvocationListener> supplier = SingletonSupplier.of(listener::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(supplier.get()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ProyectoFinal.config;
+
+import com.example.ProyectoFinal.replica.AlumnoReplicator;
+import com.example.ProyectoFinal.replica.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de lectura (alumnos.replica.enabled=true)
+ *
+ * Sustituye el DataSource de Spring Boot por uno que envía las transacciones de solo lectura
+ * a las réplicas (alumnos.replica.urls) y el resto a la base de datos principal, configurada
+ * como siempre con spring.datasource.*. Flyway migra la principal; las réplicas las prepara
+ * y mantiene sincronizadas AlumnoReplicator
+ */
+@Configuration
+@ConditionalOnProperty(name = "alumnos.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public AlumnoReplicator alumnoReplicator(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${alumnos.replica.urls}") List<String> urls,
+                                             @Value("${alumnos.replica.pool-size:5}") int poolSize,
+                                             @Value("${alumnos.replica.max-lag:1s}") Duration maxLag,
+                                             @Value("${alumnos.replica.read-your-writes:30s}") Duration readYourWrites,
+                                             @Value("${alumnos.replica.queue-capacity:100000}") int queueCapacity,
+                                             @Value("${alumnos.replica.batch-size:500}") int batchSize) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setExceptionOverrideClassName(primaryDataSource.getExceptionOverrideClassName());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new AlumnoReplicator(primaryDataSource, replicas, meterRegistry, maxLag, readYourWrites,
+                queueCapacity, batchSize);
+    }
+
+    /**
+     * DataSource que usan JPA, JdbcTemplate y el resto de la aplicación
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, AlumnoReplicator alumnoReplicator,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource,
+                alumnoReplicator.dataSources(), alumnoReplicator, meterRegistry));
+    }
+}
@@ -1,7 +1,22 @@
 package com.example.ProyectoFinal.config;
 
+import com.example.ProyectoFinal.security.CachingAuthenticationProvider;
+import com.example.ProyectoFinal.security.TokenService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -10,14 +25,21 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 /**
  * Configuración de seguridad de la aplicación
  * Implementa autenticación HTTP Basic con usuario en memoria
+ * Opcionalmente acepta tokens Bearer (JWT) emitidos por POST /api/auth/token
  * Protege los endpoints de la API mientras permite acceso a Swagger y H2 Console
  */
 @Configuration
@@ -52,17 +74,74 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin);
     }
 
+    /**
+     * Configura el gestor de autenticación usado por HTTP Basic
+     * Verifica las credenciales con BCrypt y recuerda durante un tiempo corto las que
+     * ya se han verificado, para no repetir BCrypt en cada petición
+     * 
+     * @param userDetailsService Usuarios de la aplicación
+     * @param ttl Tiempo que se recuerda una verificación correcta
+     * @param maximumSize Número máximo de usuarios recordados
+     * @return AuthenticationManager con caché de credenciales verificadas
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(
+            UserDetailsService userDetailsService,
+            @Value("${alumnos.security.credential-cache.ttl:5m}") Duration ttl,
+            @Value("${alumnos.security.credential-cache.maximum-size:1000}") long maximumSize) {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider(passwordEncoder());
+        delegate.setUserDetailsService(userDetailsService);
+        return new ProviderManager(new CachingAuthenticationProvider(delegate, ttl, maximumSize));
+    }
+
+    /**
+     * Configura la cadena de filtros de los endpoints de Actuator (puerto de gestión)
+     * Salud, información y el scrape de Prometheus son públicos; el resto requiere rol ADMIN
+     * 
+     * @param http Configuración de seguridad HTTP
+     * @param authenticationManager Gestor de autenticación para HTTP Basic
+     * @return SecurityFilterChain de gestión
+     * @throws Exception si hay un error en la configuración
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http,
+                                                             AuthenticationManager authenticationManager) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(
+                    HealthEndpoint.class, InfoEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .authenticationManager(authenticationManager)
+            .httpBasic(withDefaults())
+            .sessionManagement(session -> 
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            );
+
+        return http.build();
+    }
+
     /**
      * Configura la cadena de filtros de seguridad
      * Define qué rutas están protegidas y cuáles son públicas
      * 
      * @param http Configuración de seguridad HTTP
+     * @param authenticationManager Gestor de autenticación para HTTP Basic
+     * @param jwtDecoder Decodificador de tokens Bearer (solo si el modo token está activo)
      * @return SecurityFilterChain configurado
      * @throws Exception si hay un error en la configuración
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationManager authenticationManager,
+                                                   ObjectProvider<JwtDecoder> jwtDecoder) throws Exception {
         http
+            // Usar únicamente el proveedor con caché de credenciales
+            .authenticationManager(authenticationManager)
+
             // Deshabilitar CSRF ya que es una API REST stateless
             .csrf(csrf -> csrf.disable())
             
@@ -78,6 +157,10 @@ public class SecurityConfig {
                 // Permitir acceso a H2 Console (solo para desarrollo)
                 .requestMatchers("/h2-console/**").permitAll()
                 
+                // Los tokens solo se emiten tras un login HTTP Basic (un token no puede renovarse a sí mismo)
+                .requestMatchers(HttpMethod.POST, "/api/auth/token").access((authentication, context) ->
+                    new AuthorizationDecision(authentication.get() instanceof UsernamePasswordAuthenticationToken))
+                
                 // Todos los endpoints de la API requieren autenticación
                 .requestMatchers("/api/**").authenticated()
                 
@@ -96,6 +179,20 @@ public class SecurityConfig {
             // Configuración especial para H2 Console (permitir frames)
             .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
 
+        // Modo token: aceptar también "Authorization: Bearer <jwt>" verificado localmente
+        JwtDecoder decoder = jwtDecoder.getIfAvailable();
+        if (decoder != null) {
+            JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+            authorities.setAuthoritiesClaimName(TokenService.ROLES_CLAIM);
+            authorities.setAuthorityPrefix("");
+            JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+            converter.setJwtGrantedAuthoritiesConverter(authorities);
+            JwtAuthenticationProvider jwtProvider = new JwtAuthenticationProvider(decoder);
+            jwtProvider.setJwtAuthenticationConverter(converter);
+            http.oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(jwt -> jwt.authenticationManager(new ProviderManager(jwtProvider))));
+        }
+
         return http.build();
     }
 }
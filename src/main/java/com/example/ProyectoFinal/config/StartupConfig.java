@@ -0,0 +1,47 @@
+package com.example.ProyectoFinal.config;
+
+import com.example.ProyectoFinal.dto.AlumnoChange;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Configuración para el arranque rápido (perfil fast, build con -Pfast-startup)
+ *
+ * Con spring.main.lazy-initialization=true los beans se crean en su primer uso, salvo los que
+ * cargan datos antes de que el servidor acepte peticiones (SmartInitializingSingleton: estadísticas
+ * y copia en columnas). Creados en el primer evento de cambio, empezarían vacíos
+ *
+ * Las pistas de NativeHints son lo que la compilación AOT no puede deducir de los beans y se
+ * necesita en una imagen nativa (mvn -Pnative,fast-startup native:compile)
+ */
+@Configuration
+@ImportRuntimeHints(StartupConfig.NativeHints.class)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter startupDataExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SmartInitializingSingleton.class);
+    }
+
+    static class NativeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Hikari instancia la clase por su nombre (spring.datasource.hikari.exception-override-class-name)
+            hints.reflection().registerType(CancelledQueryExceptionOverride.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // Eventos del feed de cambios: se serializan con Jackson fuera de los tipos de retorno de los controladores
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    AlumnoChange.class, AlumnoSnapshot.class);
+            hints.resources().registerPattern("db/migration/*.sql");
+        }
+    }
+}
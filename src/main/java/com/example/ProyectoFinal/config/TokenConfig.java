@@ -0,0 +1,82 @@
+package com.example.ProyectoFinal.config;
+
+import com.example.ProyectoFinal.security.TokenService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Configuración del modo token (alumnos.security.token.enabled=true)
+ * Tras un login HTTP Basic en POST /api/auth/token, el cliente usa un JWT firmado
+ * con HMAC-SHA256 que el servidor verifica localmente en cada petición
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "alumnos.security.token", name = "enabled", havingValue = "true")
+public class TokenConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenConfig.class);
+
+    /**
+     * Clave de firma de los tokens
+     * Si no se configura una clave (Base64, al menos 256 bits) se genera una aleatoria
+     * y los tokens emitidos dejan de ser válidos al reiniciar la aplicación
+     * 
+     * @param secret Clave en Base64 (alumnos.security.token.secret)
+     * @return Clave HMAC-SHA256
+     */
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${alumnos.security.token.secret:}") String secret) {
+        byte[] key;
+        if (secret.isBlank()) {
+            log.warn("alumnos.security.token.secret no configurado: se usa una clave aleatoria, "
+                    + "los tokens no sobreviven a un reinicio");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+            if (key.length < 32) {
+                throw new IllegalStateException("alumnos.security.token.secret debe tener al menos 256 bits");
+            }
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    /**
+     * Verifica firma, caducidad y emisor de los tokens recibidos
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(tokenSigningKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(TokenService.ISSUER));
+        return decoder;
+    }
+
+    @Bean
+    public TokenService tokenService(JwtEncoder jwtEncoder,
+                                     @Value("${alumnos.security.token.ttl:15m}") Duration ttl) {
+        return new TokenService(jwtEncoder, ttl);
+    }
+}
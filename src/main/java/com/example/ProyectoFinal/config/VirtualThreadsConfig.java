@@ -0,0 +1,44 @@
+package com.example.ProyectoFinal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Modo de ejecución con hilos virtuales (perfil "virtual")
+ * La configuración se define en application-virtual.properties; esta clase solo
+ * comprueba al arrancar que la JVM la soporta, ya que en Java 17 Spring Boot
+ * ignora spring.threads.virtual.enabled sin avisar
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private final Environment environment;
+
+    @Autowired
+    public VirtualThreadsConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Informa del modelo de hilos con el que se atienden las peticiones
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Peticiones atendidas con hilos virtuales (Java {})", Runtime.version().feature());
+        } else {
+            log.warn("Perfil 'virtual' activo pero Java {} no soporta hilos virtuales (requiere Java 21+): "
+                    + "se usa el pool de hilos de plataforma", Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ProyectoFinal.config;
+
+import com.example.ProyectoFinal.ratelimit.RateLimitInterceptor;
+import com.example.ProyectoFinal.web.AlumnoColumnarHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
+
+/**
+ * Configuración de la representación de las respuestas
+ * 
+ * Las páginas se serializan como PagedModel ({content, page:{size, number,
+ * totalElements, totalPages}}) en lugar de volcar PageImpl con pageable, sort, etc.
+ * Además del JSON por defecto se admiten CBOR, Smile y el formato columnar, que va al
+ * final de la lista para que nunca sea el elegido con un Accept genérico
+ * 
+ * Las peticiones a /api/alumnos pasan antes por el control de admisión (límite de
+ * ritmo por usuario y límite de concurrencia adaptativo)
+ */
+@Configuration
+@EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    public WebConfig(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                     RateLimitInterceptor rateLimitInterceptor) {
+        this.objectMapper = objectMapper;
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/alumnos", "/api/alumnos/**");
+    }
+
+    /**
+     * Spring MVC registra CBOR y Smile con un ObjectMapper propio que ignora la
+     * configuración de Spring Boot (módulos, fechas ISO, PagedModel); se sustituyen
+     * por convertidores creados con el mismo builder que el JSON
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                return new MappingJackson2CborHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new CBORFactory()).build());
+            }
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                return new MappingJackson2SmileHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new SmileFactory()).build());
+            }
+            return converter;
+        });
+        converters.add(new AlumnoColumnarHttpMessageConverter(objectMapper));
+    }
+}
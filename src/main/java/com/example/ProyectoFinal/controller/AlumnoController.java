@@ -1,7 +1,30 @@
 package com.example.ProyectoFinal.controller;
 
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.dto.AlumnoStats;
+import com.example.ProyectoFinal.dto.AlumnoVersion;
+import com.example.ProyectoFinal.dto.AlumnoView;
+import com.example.ProyectoFinal.dto.BulkImportResult;
+import com.example.ProyectoFinal.dto.CursorPage;
+import com.example.ProyectoFinal.dto.SliceResponse;
 import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.BadRequestException;
+import com.example.ProyectoFinal.feed.AlumnoChangeFeed;
+import com.example.ProyectoFinal.repository.AlumnoField;
+import com.example.ProyectoFinal.repository.AlumnoSortKey;
+import com.example.ProyectoFinal.service.AlumnoAsyncService;
+import com.example.ProyectoFinal.service.AlumnoBulkService;
+import com.example.ProyectoFinal.service.AlumnoExportService;
 import com.example.ProyectoFinal.service.AlumnoService;
+import com.example.ProyectoFinal.service.AlumnoUpdate;
+import com.example.ProyectoFinal.service.AlumnoWriteBehindService;
+import com.example.ProyectoFinal.service.ExportFormat;
+import com.example.ProyectoFinal.stats.AlumnoStatistics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,17 +33,43 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controlador REST para gestionar operaciones CRUD de Alumnos
@@ -33,11 +82,39 @@ import java.util.List;
 @SecurityRequirement(name = "basicAuth")
 public class AlumnoController {
 
+    private static final Logger log = LoggerFactory.getLogger(AlumnoController.class);
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
     private final AlumnoService alumnoService;
+    private final AlumnoExportService alumnoExportService;
+    private final AlumnoBulkService alumnoBulkService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AlumnoWriteBehindService writeBehindService;
+    private final AlumnoAsyncService alumnoAsyncService;
+    private final AlumnoChangeFeed alumnoChangeFeed;
+    private final AlumnoStatistics alumnoStatistics;
 
     @Autowired
-    public AlumnoController(AlumnoService alumnoService) {
+    public AlumnoController(AlumnoService alumnoService, AlumnoExportService alumnoExportService,
+                            AlumnoBulkService alumnoBulkService, ObjectMapper objectMapper, Validator validator,
+                            ObjectProvider<AlumnoWriteBehindService> writeBehindService,
+                            AlumnoAsyncService alumnoAsyncService, AlumnoChangeFeed alumnoChangeFeed,
+                            AlumnoStatistics alumnoStatistics) {
         this.alumnoService = alumnoService;
+        this.alumnoStatistics = alumnoStatistics;
+        this.alumnoAsyncService = alumnoAsyncService;
+        this.alumnoChangeFeed = alumnoChangeFeed;
+        this.alumnoExportService = alumnoExportService;
+        this.alumnoBulkService = alumnoBulkService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.writeBehindService = writeBehindService.getIfAvailable();
     }
 
     /**
@@ -56,8 +133,75 @@ public class AlumnoController {
     })
     @GetMapping
     public ResponseEntity<List<Alumno>> getAllAlumnos() {
-        List<Alumno> alumnos = alumnoService.getAllAlumnos();
-        return ResponseEntity.ok(alumnos);
+        return allAlumnosResponse();
+    }
+
+    /**
+     * Obtiene todos los alumnos fuera del hilo de la petición, con un plazo máximo
+     */
+    @Operation(
+        summary = "Obtener todos los alumnos (con plazo)",
+        description = "Igual que GET /api/alumnos, pero la consulta se ejecuta en el pool de consultas y se " +
+                     "cancela si no termina en los milisegundos indicados en X-Request-Timeout (respuesta 504)"
+    )
+    @GetMapping(headers = REQUEST_TIMEOUT_HEADER)
+    public CompletableFuture<ResponseEntity<List<Alumno>>> getAllAlumnosWithDeadline(
+            @Parameter(description = "Plazo máximo de la petición en milisegundos", required = true)
+            @RequestHeader(REQUEST_TIMEOUT_HEADER) String timeout) {
+        return alumnoAsyncService.query(parseTimeout(timeout), this::allAlumnosResponse);
+    }
+
+    /**
+     * Obtiene todos los alumnos con solo los campos indicados
+     */
+    @Operation(
+        summary = "Obtener todos los alumnos (campos seleccionados)",
+        description = "Igual que GET /api/alumnos, pero solo lee de la base de datos y devuelve los campos " +
+                     "indicados en fields (ej: fields=id,nombre)"
+    )
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<AlumnoView>> getAllAlumnos(
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, email, fechaRegistro, version, updatedAt)", required = true)
+            @RequestParam String fields) {
+        Set<AlumnoField> selected = parseFields(fields);
+        List<AlumnoView> alumnos = alumnoService.getAllAlumnos(selected);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofValues(alumnos, selected))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos);
+    }
+
+    /**
+     * Exporta todos los alumnos en streaming (NDJSON o CSV)
+     */
+    @Operation(
+        summary = "Exportar todos los alumnos",
+        description = "Escribe todos los alumnos fila a fila a medida que se leen de la base de datos, " +
+                     "sin cargar la tabla completa en memoria. Formatos: ndjson (un objeto JSON por línea) o csv"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Exportación iniciada exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Formato de exportación no soportado"
+        )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAlumnos(
+            @Parameter(description = "Formato de exportación: ndjson o csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> alumnoExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("alumnos." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     /**
@@ -79,16 +223,157 @@ public class AlumnoController {
     public ResponseEntity<Page<Alumno>> getAllAlumnosPaginated(
             @Parameter(description = "Configuración de paginación y ordenamiento")
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<Alumno> alumnos = alumnoService.getAllAlumnosPaginated(pageable);
-        return ResponseEntity.ok(alumnos);
+        checkPageOffset(pageable);
+        return paginatedResponse(pageable);
+    }
+
+    /**
+     * Obtiene alumnos con paginación fuera del hilo de la petición, con un plazo máximo
+     */
+    @Operation(
+        summary = "Obtener alumnos con paginación (con plazo)",
+        description = "Igual que /paginated, pero la consulta se ejecuta en el pool de consultas y se " +
+                     "cancela si no termina en los milisegundos indicados en X-Request-Timeout (respuesta 504)"
+    )
+    @GetMapping(value = "/paginated", headers = REQUEST_TIMEOUT_HEADER)
+    public CompletableFuture<ResponseEntity<Page<Alumno>>> getAllAlumnosPaginatedWithDeadline(
+            @Parameter(description = "Configuración de paginación y ordenamiento")
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Plazo máximo de la petición en milisegundos", required = true)
+            @RequestHeader(REQUEST_TIMEOUT_HEADER) String timeout) {
+        checkPageOffset(pageable);
+        return alumnoAsyncService.query(parseTimeout(timeout), () -> paginatedResponse(pageable));
+    }
+
+    /**
+     * Obtiene alumnos con paginación y solo los campos indicados
+     */
+    @Operation(
+        summary = "Obtener alumnos con paginación (campos seleccionados)",
+        description = "Igual que /paginated, pero solo lee de la base de datos y devuelve los campos indicados " +
+                     "en fields (ej: fields=id,nombre)"
+    )
+    @GetMapping(value = "/paginated", params = "fields")
+    public ResponseEntity<Page<AlumnoView>> getAllAlumnosPaginated(
+            @Parameter(description = "Configuración de paginación y ordenamiento")
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, email, fechaRegistro, version, updatedAt)", required = true)
+            @RequestParam String fields) {
+        Set<AlumnoField> selected = parseFields(fields);
+        checkSortable(pageable.getSort());
+        checkPageOffset(pageable);
+        Page<AlumnoView> alumnos = alumnoService.getAllAlumnosPaginated(pageable, selected);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofValues(alumnos, selected, alumnos.getTotalElements()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos);
+    }
+
+    /**
+     * Obtiene alumnos con paginación sin total de elementos
+     */
+    @Operation(
+        summary = "Obtener alumnos por páginas sin total",
+        description = "Igual que /paginated pero sin calcular el total de elementos (no ejecuta COUNT). " +
+                     "Indica únicamente si existe una página siguiente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de alumnos obtenida exitosamente"
+        )
+    })
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<Alumno>> getAlumnosSlice(
+            @Parameter(description = "Configuración de paginación y ordenamiento")
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        checkPageOffset(pageable);
+        Slice<Alumno> alumnos = alumnoService.getAlumnosSlice(pageable);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumnos, alumnos.hasNext()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(SliceResponse.of(alumnos));
+    }
+
+    /**
+     * Obtiene alumnos con paginación sin total y solo los campos indicados
+     */
+    @Operation(
+        summary = "Obtener alumnos por páginas sin total (campos seleccionados)",
+        description = "Igual que /slice, pero solo lee de la base de datos y devuelve los campos indicados " +
+                     "en fields (ej: fields=id,nombre)"
+    )
+    @GetMapping(value = "/slice", params = "fields")
+    public ResponseEntity<SliceResponse<AlumnoView>> getAlumnosSlice(
+            @Parameter(description = "Configuración de paginación y ordenamiento")
+            @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, email, fechaRegistro, version, updatedAt)", required = true)
+            @RequestParam String fields) {
+        Set<AlumnoField> selected = parseFields(fields);
+        checkSortable(pageable.getSort());
+        checkPageOffset(pageable);
+        Slice<AlumnoView> alumnos = alumnoService.getAlumnosSlice(pageable, selected);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofValues(alumnos, selected, alumnos.hasNext()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(SliceResponse.of(alumnos));
+    }
+
+    /**
+     * Obtiene alumnos con paginación por cursor (keyset)
+     */
+    @Operation(
+        summary = "Obtener alumnos con paginación por cursor",
+        description = "Paginación keyset: cada respuesta incluye nextCursor, que se envía en el parámetro " +
+                     "cursor para obtener la página siguiente. El tiempo de respuesta no depende de la " +
+                     "profundidad de la página. Orden soportado: id, nombre, fechaRegistro"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de alumnos obtenida exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cursor, campo de ordenación o tamaño de página inválidos"
+        )
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<Alumno>> getAlumnosByCursor(
+            @Parameter(description = "Campo de ordenación: id, nombre o fechaRegistro (solo primera página)")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Dirección de ordenación: asc o desc (solo primera página)")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Número de elementos por página (1-" + MAX_CURSOR_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Token de continuación devuelto en la página anterior")
+            @RequestParam(required = false) String cursor) {
+        AlumnoSortKey sortKey = AlumnoSortKey.fromProperty(sort);
+        if (sortKey == null) {
+            throw new BadRequestException("Campo de ordenación no soportado: " + sort);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Dirección de ordenación no válida: " + direction));
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_CURSOR_PAGE_SIZE);
+        }
+        CursorPage<Alumno> alumnos = alumnoService.getAlumnosByCursor(sortKey, sortDirection.isAscending(), cursor, size);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumnos.content(), alumnos.nextCursor()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos);
     }
 
     /**
      * Obtiene un alumno por su ID
+     * Con If-None-Match / If-Modified-Since solo se consulta la versión del alumno:
+     * si no ha cambiado se responde 304 sin cargar ni serializar la entidad
      */
     @Operation(
         summary = "Obtener alumno por ID",
-        description = "Retorna un alumno específico buscado por su identificador único"
+        description = "Retorna un alumno específico buscado por su identificador único. " +
+                     "Incluye las cabeceras ETag (versión) y Last-Modified; con If-None-Match o " +
+                     "If-Modified-Since responde 304 si el alumno no ha cambiado"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -96,6 +381,10 @@ public class AlumnoController {
             description = "Alumno encontrado exitosamente",
             content = @Content(schema = @Schema(implementation = Alumno.class))
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "El alumno no ha cambiado desde la versión indicada"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Alumno no encontrado con el ID especificado"
@@ -104,31 +393,227 @@ public class AlumnoController {
     @GetMapping("/{id}")
     public ResponseEntity<Alumno> getAlumnoById(
             @Parameter(description = "ID del alumno a buscar", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            AlumnoVersion version = alumnoService.getAlumnoVersion(id);
+            if (request.checkNotModified(ETags.of(version.version()), ETags.lastModified(version.updatedAt()))) {
+                // 304 Not Modified: la respuesta ya está completa
+                return null;
+            }
+        }
         Alumno alumno = alumnoService.getAlumnoById(id);
-        return ResponseEntity.ok(alumno);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumno.getVersion()))
+                .lastModified(ETags.lastModified(alumno.getUpdatedAt()))
+                .body(alumno);
     }
 
     /**
-     * Busca alumnos por nombre (búsqueda parcial)
+     * Busca alumnos por nombre usando el índice de búsqueda
      */
     @Operation(
         summary = "Buscar alumnos por nombre",
-        description = "Busca alumnos cuyo nombre contenga el texto especificado (no distingue mayúsculas/minúsculas)"
+        description = "Busca alumnos cuyo nombre contenga todas las palabras indicadas (o palabras que empiecen " +
+                     "por ellas). No distingue mayúsculas/minúsculas ni tildes. Los resultados se ordenan por " +
+                     "relevancia y se devuelven paginados; el total de coincidencias se indica en la cabecera X-Total-Count"
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
             description = "Búsqueda completada exitosamente",
             content = @Content(schema = @Schema(implementation = Alumno.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros de paginación inválidos"
         )
     })
     @GetMapping("/search")
     public ResponseEntity<List<Alumno>> searchAlumnosByNombre(
             @Parameter(description = "Texto a buscar en el nombre del alumno", required = true)
-            @RequestParam String nombre) {
-        List<Alumno> alumnos = alumnoService.searchAlumnosByNombre(nombre);
-        return ResponseEntity.ok(alumnos);
+            @RequestParam String nombre,
+            @Parameter(description = "Número de página (inicia en 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Número de resultados por página (1-" + MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "20") int size) {
+        checkSearchPage(page, size);
+        return searchResponse(nombre, page, size);
+    }
+
+    /**
+     * Busca alumnos por nombre fuera del hilo de la petición, con un plazo máximo
+     */
+    @Operation(
+        summary = "Buscar alumnos por nombre (con plazo)",
+        description = "Igual que /search, pero la búsqueda se ejecuta en el pool de consultas y se " +
+                     "cancela si no termina en los milisegundos indicados en X-Request-Timeout (respuesta 504)"
+    )
+    @GetMapping(value = "/search", headers = REQUEST_TIMEOUT_HEADER)
+    public CompletableFuture<ResponseEntity<List<Alumno>>> searchAlumnosByNombreWithDeadline(
+            @Parameter(description = "Texto a buscar en el nombre del alumno", required = true)
+            @RequestParam String nombre,
+            @Parameter(description = "Número de página (inicia en 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Número de resultados por página (1-" + MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Plazo máximo de la petición en milisegundos", required = true)
+            @RequestHeader(REQUEST_TIMEOUT_HEADER) String timeout) {
+        checkSearchPage(page, size);
+        return alumnoAsyncService.query(parseTimeout(timeout), () -> searchResponse(nombre, page, size));
+    }
+
+    /**
+     * Busca alumnos por nombre devolviendo solo los campos indicados
+     */
+    @Operation(
+        summary = "Buscar alumnos por nombre (campos seleccionados)",
+        description = "Igual que /search, pero solo lee de la base de datos y devuelve los campos indicados " +
+                     "en fields (ej: fields=id,nombre)"
+    )
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<AlumnoView>> searchAlumnosByNombre(
+            @Parameter(description = "Texto a buscar en el nombre del alumno", required = true)
+            @RequestParam String nombre,
+            @Parameter(description = "Número de página (inicia en 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Número de resultados por página (1-" + MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, email, fechaRegistro, version, updatedAt)", required = true)
+            @RequestParam String fields) {
+        checkSearchPage(page, size);
+        Set<AlumnoField> selected = parseFields(fields);
+        Page<AlumnoView> alumnos = alumnoService.searchAlumnosByNombre(nombre, page, size, selected);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(alumnos.getTotalElements()))
+                .eTag(ETags.ofValues(alumnos, selected, alumnos.getTotalElements()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos.getContent());
+    }
+
+    /**
+     * Rechaza la combinación de fields con X-Request-Timeout
+     *
+     * Sin este mapeo, una petición con ambos encaja a la vez en la variante con plazo y en la de
+     * campos seleccionados, y Spring responde 500 por mapeo ambiguo
+     */
+    @Operation(
+        summary = "Campos seleccionados con plazo (no soportado)",
+        description = "fields y X-Request-Timeout no se pueden combinar en GET /api/alumnos, /paginated ni /search"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "400",
+            description = "fields y X-Request-Timeout no se pueden combinar"
+        )
+    })
+    @GetMapping(value = {"", "/paginated", "/search"}, params = "fields", headers = REQUEST_TIMEOUT_HEADER)
+    public ResponseEntity<Void> rejectFieldsWithDeadline() {
+        throw new BadRequestException("El parámetro fields no se puede combinar con la cabecera " + REQUEST_TIMEOUT_HEADER);
+    }
+
+    /**
+     * Suscribe al cliente a los cambios de alumnos (Server-Sent Events)
+     */
+    @Operation(
+        summary = "Feed de cambios de alumnos",
+        description = "Envía como Server-Sent Events cada alta, modificación y baja confirmada (eventos created, " +
+                     "updated y deleted con el alumno en data). Al reconectar con Last-Event-ID se reciben los " +
+                     "cambios perdidos; si ya no están disponibles se recibe un evento reset y hay que volver a " +
+                     "leer el listado completo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Suscripción abierta"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Número máximo de suscriptores alcanzado (ver Retry-After)"
+        )
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToChanges(
+            @Parameter(description = "ID del último evento recibido, para continuar donde se quedó")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return alumnoChangeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Sugiere alumnos mientras el usuario escribe (typeahead)
+     */
+    @Operation(
+        summary = "Sugerir alumnos por nombre",
+        description = "Devuelve el ID y el nombre de los alumnos cuyo nombre tiene palabras que empiezan por " +
+                     "el texto indicado. Pensado para autocompletar en cajas de búsqueda"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Sugerencias obtenidas exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Límite de sugerencias fuera de rango"
+        )
+    })
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<AlumnoNombre>> suggestAlumnos(
+            @Parameter(description = "Texto escrito por el usuario", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Número máximo de sugerencias (1-" + MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("El límite de sugerencias debe estar entre 1 y " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(alumnoService.suggestAlumnos(q, limit));
+    }
+
+    /**
+     * Estadísticas de registro a partir de contadores en memoria (no recorre la tabla)
+     */
+    @Operation(
+        summary = "Estadísticas de registro",
+        description = "Número de alumnos registrados por día o por mes dentro de un rango de fechas, total de " +
+                     "alumnos y dominios de email con más alumnos. Se calcula con contadores que se mantienen " +
+                     "al crear y eliminar alumnos; los periodos sin alumnos se omiten"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estadísticas obtenidas exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Fechas, granularidad o número de dominios inválidos"
+        )
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<AlumnoStats> getRegistrationStats(
+            @Parameter(description = "Primer día del rango (AAAA-MM-DD); por defecto, el primer registro")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Último día del rango (AAAA-MM-DD); por defecto, el último registro")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Periodos: day o month")
+            @RequestParam(defaultValue = "day") String granularity,
+            @Parameter(description = "Número máximo de dominios de email (0-" + MAX_SEARCH_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "10") int domains) {
+        LocalDate fromDate = parseDate("from", from);
+        LocalDate toDate = parseDate("to", to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new BadRequestException("La fecha inicial (" + from + ") es posterior a la final (" + to + ")");
+        }
+        AlumnoStatistics.Granularity periods;
+        try {
+            periods = AlumnoStatistics.Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Granularidad no soportada (day o month): " + granularity);
+        }
+        if (domains < 0 || domains > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("El número de dominios debe estar entre 0 y " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(alumnoStatistics.query(fromDate, toDate, periods, domains));
     }
 
     /**
@@ -147,6 +632,10 @@ public class AlumnoController {
         @ApiResponse(
             responseCode = "400",
             description = "Datos de entrada inválidos (validación fallida)"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Ya existe un alumno con el mismo email"
         )
     })
     @PostMapping
@@ -157,12 +646,54 @@ public class AlumnoController {
         return new ResponseEntity<>(nuevoAlumno, HttpStatus.CREATED);
     }
 
+    /**
+     * Crea o actualiza alumnos de forma masiva
+     */
+    @Operation(
+        summary = "Importar alumnos de forma masiva",
+        description = "Recibe un array JSON (application/json) o un alumno JSON por línea (application/x-ndjson). " +
+                     "Cada fila se valida por separado; si ya existe un alumno con el mismo email se actualiza, " +
+                     "si no se crea. Las filas se escriben en bloques con INSERT/UPDATE agrupados en lotes JDBC. " +
+                     "Retorna el resultado de cada fila (CREATED, UPDATED, INVALID o FAILED)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Importación procesada; consultar el estado de cada fila",
+            content = @Content(schema = @Schema(implementation = BulkImportResult.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "El contenido no es JSON válido (las filas anteriores al error ya se han guardado)"
+        )
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importAlumnos(InputStream body) throws IOException {
+        try (MappingIterator<Alumno> rows = objectMapper.readerFor(Alumno.class).readValues(body)) {
+            return ResponseEntity.ok(alumnoBulkService.importAlumnos(rows));
+        } catch (RuntimeException ex) {
+            // MappingIterator envuelve los errores de lectura en excepciones no comprobadas
+            if (ex.getCause() instanceof JsonProcessingException cause) {
+                throw new BadRequestException("Contenido JSON inválido: " + cause.getOriginalMessage(), ex);
+            }
+            throw ex;
+        } catch (JsonProcessingException ex) {
+            throw new BadRequestException("Contenido JSON inválido: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
     /**
      * Actualiza un alumno existente
      */
     @Operation(
         summary = "Actualizar alumno existente",
-        description = "Actualiza los datos de un alumno existente. La fecha de registro no se modifica."
+        description = "Actualiza los datos de un alumno existente. La fecha de registro no se modifica. " +
+                     "Con la cabecera If-Match (ETag leído previamente) solo se actualiza si el alumno " +
+                     "no ha cambiado desde entonces. Con la escritura diferida activada, la respuesta llega " +
+                     "cuando el bloque que contiene la actualización se ha confirmado; con " +
+                     "Prefer: respond-async se responde 202 en cuanto la actualización entra en la cola. " +
+                     "El 202 no garantiza la escritura: si falla (404, 409, 412) o la aplicación se detiene " +
+                     "de forma abrupta antes de escribirla, la actualización se pierde sin aviso al cliente"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -170,6 +701,11 @@ public class AlumnoController {
             description = "Alumno actualizado exitosamente",
             content = @Content(schema = @Schema(implementation = Alumno.class))
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Actualización aceptada en la cola de escritura diferida (Prefer: respond-async). " +
+                         "Sin garantía de escritura: hay que volver a leer el alumno para confirmarla"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Datos de entrada inválidos"
@@ -177,6 +713,18 @@ public class AlumnoController {
         @ApiResponse(
             responseCode = "404",
             description = "Alumno no encontrado con el ID especificado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El email pertenece a otro alumno o el alumno se modificó en paralelo por otra petición"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match no coincide con la versión actual del alumno"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "La cola de escritura diferida está llena (ver Retry-After)"
         )
     })
     @PutMapping("/{id}")
@@ -184,9 +732,85 @@ public class AlumnoController {
             @Parameter(description = "ID del alumno a actualizar", required = true)
             @PathVariable Long id,
             @Parameter(description = "Nuevos datos del alumno", required = true)
-            @Valid @RequestBody Alumno alumnoDetails) {
-        Alumno alumnoActualizado = alumnoService.updateAlumno(id, alumnoDetails);
-        return ResponseEntity.ok(alumnoActualizado);
+            @Valid @RequestBody Alumno alumnoDetails,
+            @Parameter(description = "ETag del alumno leído previamente (evita sobrescribir cambios ajenos)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "respond-async para no esperar a que se escriba (solo con escritura diferida)")
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        Alumno alumnoActualizado;
+        if (writeBehindService != null) {
+            CompletableFuture<Alumno> result = writeBehindService.submit(new AlumnoUpdate(
+                    id, alumnoDetails.getNombre(), alumnoDetails.getEmail(), expectedVersion));
+            if (prefer != null && prefer.contains("respond-async")) {
+                // Nadie espera el resultado: al menos queda en el registro si no se llega a escribir
+                result.whenComplete((alumno, ex) -> {
+                    if (ex != null) {
+                        log.warn("Actualización diferida del alumno {} descartada: {}", id, ex.getMessage());
+                    }
+                });
+                return ResponseEntity.accepted()
+                        .header("Preference-Applied", "respond-async")
+                        .build();
+            }
+            alumnoActualizado = await(result);
+        } else {
+            alumnoActualizado = alumnoService.updateAlumno(id, alumnoDetails, expectedVersion);
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumnoActualizado.getVersion()))
+                .lastModified(ETags.lastModified(alumnoActualizado.getUpdatedAt()))
+                .body(alumnoActualizado);
+    }
+
+    /**
+     * Actualiza parcialmente un alumno (JSON Merge Patch, RFC 7396)
+     * Solo se validan y escriben los campos enviados, con una única sentencia UPDATE
+     */
+    @Operation(
+        summary = "Actualizar parcialmente un alumno",
+        description = "Modifica solo los campos enviados (nombre y/o email) con una única sentencia UPDATE, " +
+                     "sin leer antes el alumno. Acepta application/merge-patch+json. Con If-Match solo se " +
+                     "actualiza si el alumno no ha cambiado; la respuesta incluye entonces el nuevo ETag"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Alumno actualizado exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Campo no modificable o valor inválido"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Alumno no encontrado con el ID especificado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El email pertenece a otro alumno"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match no coincide con la versión actual del alumno"
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchAlumno(
+            @Parameter(description = "ID del alumno a actualizar", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Campos a modificar (nombre, email)", required = true)
+            @RequestBody JsonNode patch,
+            @Parameter(description = "ETag del alumno leído previamente (evita sobrescribir cambios ajenos)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        alumnoService.patchAlumno(id, toPatch(patch), expectedVersion);
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (expectedVersion != null) {
+            // Sin If-Match no se conoce la versión resultante sin volver a leer el alumno
+            response.eTag(ETags.of(expectedVersion + 1));
+        }
+        return response.build();
     }
 
     /**
@@ -213,4 +837,166 @@ public class AlumnoController {
         alumnoService.deleteAlumno(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Espera a que se confirme una actualización diferida y relanza su error, si lo hubo,
+     * para que lo traduzca el manejador global de excepciones
+     */
+    private static Alumno await(CompletableFuture<Alumno> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Convierte el cuerpo de un PATCH en los cambios a aplicar, validando solo los campos enviados
+     * Un valor null en merge patch significa borrar el campo, lo que ningún campo admite
+     * 
+     * @throws BadRequestException si el cuerpo no es un objeto, está vacío o incluye campos no modificables
+     * @throws ConstraintViolationException si algún valor enviado no es válido
+     */
+    private AlumnoPatch toPatch(JsonNode patch) {
+        if (patch == null || !patch.isObject() || patch.isEmpty()) {
+            throw new BadRequestException("El cuerpo debe ser un objeto JSON con los campos a modificar");
+        }
+        String nombre = null;
+        String email = null;
+        Set<ConstraintViolation<Alumno>> violations = new HashSet<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!field.getKey().equals("nombre") && !field.getKey().equals("email")) {
+                throw new BadRequestException("Campo no modificable: " + field.getKey());
+            }
+            JsonNode value = field.getValue();
+            if (!value.isNull() && !value.isTextual()) {
+                throw new BadRequestException("El campo " + field.getKey() + " debe ser texto");
+            }
+            String text = value.isNull() ? null : value.asText();
+            if (field.getKey().equals("nombre")) {
+                nombre = text;
+            } else {
+                email = text;
+            }
+            violations.addAll(validator.validateValue(Alumno.class, field.getKey(), text));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return new AlumnoPatch(nombre, email);
+    }
+
+    /**
+     * Convierte el parámetro fields (lista separada por comas) en el conjunto de campos a leer
+     * 
+     * @throws BadRequestException si algún campo no existe o la lista está vacía
+     */
+    private static Set<AlumnoField> parseFields(String fields) {
+        Set<AlumnoField> selected = EnumSet.noneOf(AlumnoField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            AlumnoField field = AlumnoField.fromProperty(name.trim());
+            if (field == null) {
+                throw new BadRequestException("Campo no soportado en fields: " + name.trim());
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("El parámetro fields debe indicar al menos un campo");
+        }
+        return selected;
+    }
+
+    /**
+     * Comprueba que la ordenación solo usa campos de Alumno
+     */
+    private static void checkSortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (AlumnoField.fromProperty(order.getProperty()) == null) {
+                throw new BadRequestException("Campo de ordenación no soportado: " + order.getProperty());
+            }
+        }
+    }
+
+    /**
+     * JPA solo admite posiciones int (setFirstResult): la página, y la fila extra que leen
+     * los slices para saber si hay siguiente, deben terminar antes de Integer.MAX_VALUE
+     * 
+     * @throws BadRequestException si la página está fuera de ese rango
+     */
+    private static void checkPageOffset(Pageable pageable) {
+        if (pageable.getOffset() + pageable.getPageSize() >= Integer.MAX_VALUE) {
+            throw new BadRequestException("Página fuera de rango: " + pageable.getPageNumber());
+        }
+    }
+
+    private ResponseEntity<List<Alumno>> allAlumnosResponse() {
+        List<Alumno> alumnos = alumnoService.getAllAlumnos();
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumnos))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos);
+    }
+
+    private ResponseEntity<Page<Alumno>> paginatedResponse(Pageable pageable) {
+        Page<Alumno> alumnos = alumnoService.getAllAlumnosPaginated(pageable);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(alumnos, alumnos.getTotalElements()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos);
+    }
+
+    private ResponseEntity<List<Alumno>> searchResponse(String nombre, int page, int size) {
+        Page<Alumno> alumnos = alumnoService.searchAlumnosByNombre(nombre, page, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(alumnos.getTotalElements()))
+                .eTag(ETags.of(alumnos, alumnos.getTotalElements()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(alumnos.getContent());
+    }
+
+    /**
+     * El índice de búsqueda trabaja con posiciones int: la página debe terminar antes de Integer.MAX_VALUE
+     */
+    private static void checkSearchPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE || (page + 1L) * size > Integer.MAX_VALUE) {
+            throw new BadRequestException("Página o tamaño de página fuera de rango (tamaño máximo: "
+                    + MAX_SEARCH_PAGE_SIZE + ")");
+        }
+    }
+
+    /**
+     * Convierte la cabecera X-Request-Timeout (milisegundos) en el plazo de la petición
+     * 
+     * @throws BadRequestException si no es un número positivo
+     */
+    private static Duration parseTimeout(String timeout) {
+        try {
+            long millis = Long.parseLong(timeout.trim());
+            if (millis > 0) {
+                return Duration.ofMillis(millis);
+            }
+        } catch (NumberFormatException ex) {
+            // se informa abajo
+        }
+        throw new BadRequestException(REQUEST_TIMEOUT_HEADER + " debe ser un número positivo de milisegundos: "
+                + timeout);
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Fecha no válida en " + name + " (se espera AAAA-MM-DD): " + value);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.ProyectoFinal.controller;
+
+import com.example.ProyectoFinal.dto.TokenResponse;
+import com.example.ProyectoFinal.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para obtener tokens Bearer (solo con alumnos.security.token.enabled=true)
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Autenticación", description = "Emisión de tokens Bearer")
+@ConditionalOnProperty(prefix = "alumnos.security.token", name = "enabled", havingValue = "true")
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    @Autowired
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Emite un token para el usuario autenticado con HTTP Basic
+     */
+    @Operation(
+        summary = "Obtener un token Bearer",
+        description = "Autentica con HTTP Basic y retorna un JWT firmado para usar en las siguientes peticiones " +
+                      "(cabecera Authorization: Bearer <token>)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Token emitido exitosamente"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Credenciales inválidas"
+        )
+    })
+    @SecurityRequirement(name = "basicAuth")
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(tokenService.issue(authentication));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ProyectoFinal.controller;
+
+import com.example.ProyectoFinal.cache.CacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controlador REST para consultar el estado de las cachés de la aplicación
+ * Permite ajustar el tamaño y el tiempo de vida a partir de la tasa de aciertos
+ */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Caché", description = "Estadísticas de las cachés en memoria")
+@SecurityRequirement(name = "basicAuth")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Obtiene las estadísticas de aciertos, fallos y expulsiones de cada caché
+     */
+    @Operation(
+        summary = "Obtener estadísticas de caché",
+        description = "Retorna, para cada caché, el número de entradas, aciertos, fallos, tasa de aciertos y expulsiones"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estadísticas obtenidas exitosamente"
+        )
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                com.github.benmanes.caffeine.cache.stats.CacheStats nativeStats = nativeCache.stats();
+                stats.add(new CacheStats(name, nativeCache.estimatedSize(), nativeStats.hitCount(),
+                        nativeStats.missCount(), nativeStats.hitRate(), nativeStats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
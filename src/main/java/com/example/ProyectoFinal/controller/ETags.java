@@ -0,0 +1,122 @@
+package com.example.ProyectoFinal.controller;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.BadRequestException;
+import com.example.ProyectoFinal.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Utilidades para las cabeceras de peticiones condicionales (ETag, Last-Modified, If-Match)
+ * 
+ * El ETag de un alumno es su versión ("3"); el de una lista es un resumen SHA-256 de los
+ * pares (id, versión) que contiene y de los metadatos de la página, de modo que cambia
+ * en cuanto se crea, modifica o elimina cualquier alumno incluido
+ * 
+ * El ETag de una lista es débil (W/): identifica el contenido, no los bytes, que varían
+ * según la codificación negociada (JSON, CBOR, columnar, gzip). Además Tomcat no
+ * comprime respuestas con ETag fuerte
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * ETag fuerte de un alumno a partir de su versión
+     */
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag débil de una lista de alumnos
+     * 
+     * @param alumnos Alumnos incluidos en la respuesta
+     * @param metadata Datos de la respuesta que no dependen de los alumnos (total, cursor...)
+     */
+    static String of(Iterable<Alumno> alumnos, Object... metadata) {
+        MessageDigest digest = sha256();
+        for (Object value : metadata) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '|');
+        }
+        byte[] buffer = new byte[16];
+        for (Alumno alumno : alumnos) {
+            long id = alumno.getId();
+            long version = alumno.getVersion();
+            for (int i = 0; i < 8; i++) {
+                buffer[i] = (byte) (id >>> (56 - 8 * i));
+                buffer[8 + i] = (byte) (version >>> (56 - 8 * i));
+            }
+            digest.update(buffer);
+        }
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * ETag débil de una lista de proyecciones (campos seleccionados)
+     * Como la proyección puede no incluir el ID ni la versión, se resumen los valores devueltos
+     * 
+     * @param rows Filas incluidas en la respuesta
+     * @param metadata Datos de la respuesta que no dependen de las filas (campos, total...)
+     */
+    static String ofValues(Iterable<?> rows, Object... metadata) {
+        MessageDigest digest = sha256();
+        for (Object value : metadata) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '|');
+        }
+        for (Object row : rows) {
+            digest.update(String.valueOf(row).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    /**
+     * Last-Modified en milisegundos, o -1 si el alumno no tiene fecha de modificación
+     */
+    static long lastModified(Instant updatedAt) {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+
+    /**
+     * Obtiene la versión esperada de la cabecera If-Match
+     * If-Match usa comparación fuerte, así que un ETag débil (W/) nunca coincide
+     * 
+     * @param ifMatch Valor de la cabecera (puede ser null)
+     * @return Versión esperada, o null si no hay cabecera o es "*"
+     * @throws PreconditionFailedException si el ETag es débil o no corresponde a ninguna versión
+     * @throws BadRequestException si se envían varios ETags
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new BadRequestException("If-Match solo admite un ETag");
+        }
+        if (tag.startsWith("W/") || tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match no coincide con la versión actual: " + tag);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match no coincide con la versión actual: " + tag);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ProyectoFinal.dto;
+
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Cambio confirmado sobre un alumno, tal como se envía en el feed de cambios
+ * 
+ * @param type Tipo de cambio
+ * @param id Identificador del alumno
+ * @param alumno Estado tras el cambio (ausente en eliminaciones). En las actualizaciones
+ *               parciales (PATCH) solo incluye el ID y los campos modificados
+ * @param timestamp Instante en que se confirmó el cambio
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlumnoChange(AlumnoChangeType type, Long id, AlumnoSnapshot alumno, Instant timestamp) {
+
+    public static AlumnoChange of(AlumnoChangeEvent event, Instant timestamp) {
+        return new AlumnoChange(event.type(), event.id(), event.current(), timestamp);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ProyectoFinal.dto;
+
+import com.example.ProyectoFinal.entity.Alumno;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lista de alumnos en formato columnar: un array por campo en lugar de un
+ * objeto por alumno, de modo que los nombres de campo se serializan una sola vez
+ * El alumno i-ésimo se obtiene tomando la posición i de cada array
+ * 
+ * @param count Número de alumnos
+ * @param id IDs de los alumnos
+ * @param nombre Nombres
+ * @param email Emails
+ * @param fechaRegistro Fechas de registro
+ * @param version Versiones (bloqueo optimista)
+ * @param updatedAt Instantes de última modificación (null si se desconoce)
+ */
+public record AlumnoColumns(int count, List<Long> id, List<String> nombre, List<String> email,
+                            List<LocalDate> fechaRegistro, List<Long> version, List<Instant> updatedAt) {
+
+    /**
+     * Transpone una lista de alumnos a columnas
+     */
+    public static AlumnoColumns of(List<Alumno> alumnos) {
+        int n = alumnos.size();
+        List<Long> id = new ArrayList<>(n);
+        List<String> nombre = new ArrayList<>(n);
+        List<String> email = new ArrayList<>(n);
+        List<LocalDate> fechaRegistro = new ArrayList<>(n);
+        List<Long> version = new ArrayList<>(n);
+        List<Instant> updatedAt = new ArrayList<>(n);
+        for (Alumno alumno : alumnos) {
+            id.add(alumno.getId());
+            nombre.add(alumno.getNombre());
+            email.add(alumno.getEmail());
+            fechaRegistro.add(alumno.getFechaRegistro());
+            version.add(alumno.getVersion());
+            updatedAt.add(alumno.getUpdatedAt());
+        }
+        return new AlumnoColumns(n, id, nombre, email, fechaRegistro, version, updatedAt);
+    }
+}
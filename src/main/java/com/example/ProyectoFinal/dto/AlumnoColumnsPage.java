@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.dto;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+
+/**
+ * Página de alumnos en formato columnar, con los mismos metadatos de página
+ * que la representación JSON por defecto
+ * 
+ * @param content Alumnos de la página en columnas
+ * @param page Metadatos de la página (size, number, totalElements, totalPages)
+ */
+public record AlumnoColumnsPage(AlumnoColumns content, PagedModel.PageMetadata page) {
+
+    /**
+     * Crea la página columnar a partir de una página de Spring Data
+     */
+    public static AlumnoColumnsPage of(Page<Alumno> page) {
+        return new AlumnoColumnsPage(AlumnoColumns.of(page.getContent()), new PagedModel.PageMetadata(
+                page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ProyectoFinal.dto;
+
+/**
+ * Vista mínima de un alumno (ID y nombre)
+ * Se usa en las sugerencias de búsqueda y para reconstruir el índice de búsqueda
+ * sin cargar entidades completas
+ * 
+ * @param id Identificador del alumno
+ * @param nombre Nombre del alumno
+ */
+public record AlumnoNombre(Long id, String nombre) {
+}
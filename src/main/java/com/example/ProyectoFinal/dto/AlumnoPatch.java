@@ -0,0 +1,11 @@
+package com.example.ProyectoFinal.dto;
+
+/**
+ * Cambios parciales de un alumno (PATCH con JSON Merge Patch)
+ * Los campos a null no se modifican
+ * 
+ * @param nombre Nuevo nombre, o null si no cambia
+ * @param email Nuevo email, o null si no cambia
+ */
+public record AlumnoPatch(String nombre, String email) {
+}
@@ -0,0 +1,26 @@
+package com.example.ProyectoFinal.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Estadísticas de registro de alumnos (GET /api/alumnos/stats)
+ * 
+ * @param from Primer día del rango (null si no hay alumnos y no se indicó)
+ * @param to Último día del rango (null si no hay alumnos y no se indicó)
+ * @param granularity Tamaño de los periodos: day o month
+ * @param total Alumnos registrados en total (todas las fechas)
+ * @param count Alumnos registrados dentro del rango
+ * @param buckets Alumnos por periodo dentro del rango, en orden; se omiten los periodos sin alumnos
+ * @param domains Dominios de email con más alumnos (todas las fechas), de más a menos
+ */
+public record AlumnoStats(LocalDate from, LocalDate to, String granularity, long total, long count,
+                          List<Bucket> buckets, List<EmailDomainCount> domains) {
+
+    /**
+     * @param period Periodo: fecha (2024-09-01) o mes (2024-09)
+     * @param count Alumnos registrados en el periodo
+     */
+    public record Bucket(String period, long count) {
+    }
+}
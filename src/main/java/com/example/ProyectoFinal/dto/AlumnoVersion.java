@@ -0,0 +1,14 @@
+package com.example.ProyectoFinal.dto;
+
+import java.time.Instant;
+
+/**
+ * Versión de un alumno (bloqueo optimista) y fecha de su última modificación
+ * Basta para validar ETag / Last-Modified sin cargar la entidad completa
+ * 
+ * @param id Identificador del alumno
+ * @param version Versión actual del registro
+ * @param updatedAt Fecha y hora de la última modificación (null en registros anteriores a la columna)
+ */
+public record AlumnoVersion(Long id, long version, Instant updatedAt) {
+}
@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Proyección de un alumno con solo los campos solicitados (parámetro fields)
+ * Se construye directamente a partir de las columnas leídas, sin crear entidades
+ * gestionadas; los campos no solicitados quedan a null y no se serializan
+ * 
+ * @param id Identificador del alumno
+ * @param nombre Nombre
+ * @param email Email
+ * @param fechaRegistro Fecha de registro
+ * @param version Versión (bloqueo optimista)
+ * @param updatedAt Instante de última modificación
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlumnoView(Long id, String nombre, String email, LocalDate fechaRegistro, Long version,
+                         Instant updatedAt) {
+}
@@ -0,0 +1,34 @@
+package com.example.ProyectoFinal.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva de alumnos
+ * 
+ * @param total Número de filas recibidas
+ * @param created Alumnos creados
+ * @param updated Alumnos actualizados (email ya existente)
+ * @param invalid Filas que no superaron las validaciones
+ * @param failed Filas rechazadas por la base de datos
+ * @param elapsedMs Duración de la importación en milisegundos
+ * @param rows Resultado de cada fila, en el orden de la petición
+ */
+public record BulkImportResult(int total, int created, int updated, int invalid, int failed, long elapsedMs,
+                               List<BulkRowResult> rows) {
+
+    /**
+     * Construye el resumen contando los resultados de cada estado
+     */
+    public static BulkImportResult of(List<BulkRowResult> rows, long elapsedMs) {
+        int[] counts = new int[BulkRowStatus.values().length];
+        for (BulkRowResult row : rows) {
+            counts[row.status().ordinal()]++;
+        }
+        return new BulkImportResult(rows.size(),
+                counts[BulkRowStatus.CREATED.ordinal()],
+                counts[BulkRowStatus.UPDATED.ordinal()],
+                counts[BulkRowStatus.INVALID.ordinal()],
+                counts[BulkRowStatus.FAILED.ordinal()],
+                elapsedMs, rows);
+    }
+}
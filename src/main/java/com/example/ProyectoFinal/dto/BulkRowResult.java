@@ -0,0 +1,26 @@
+package com.example.ProyectoFinal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Resultado de una fila en una importación masiva
+ * 
+ * @param index Posición de la fila en la petición (inicia en 0)
+ * @param status Resultado de la fila
+ * @param id ID del alumno creado o actualizado (null si la fila no se guardó)
+ * @param email Email de la fila, usado como clave de la operación
+ * @param errors Errores de validación o de base de datos (solo en filas no guardadas)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkRowResult(int index, BulkRowStatus status, Long id, String email, List<String> errors) {
+
+    public static BulkRowResult saved(int index, BulkRowStatus status, Long id, String email) {
+        return new BulkRowResult(index, status, id, email, null);
+    }
+
+    public static BulkRowResult rejected(int index, BulkRowStatus status, String email, List<String> errors) {
+        return new BulkRowResult(index, status, null, email, errors);
+    }
+}
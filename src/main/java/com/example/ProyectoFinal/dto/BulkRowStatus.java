@@ -0,0 +1,27 @@
+package com.example.ProyectoFinal.dto;
+
+/**
+ * Resultado de una fila en una importación masiva
+ */
+public enum BulkRowStatus {
+
+    /**
+     * Se creó un alumno nuevo
+     */
+    CREATED,
+
+    /**
+     * Ya existía un alumno con el mismo email y se actualizaron sus datos
+     */
+    UPDATED,
+
+    /**
+     * La fila no superó las validaciones y no se guardó
+     */
+    INVALID,
+
+    /**
+     * La base de datos rechazó la fila
+     */
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.example.ProyectoFinal.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida mediante paginación por cursor (keyset)
+ * No incluye el total de elementos: para pedir la siguiente página
+ * basta con enviar el valor de nextCursor
+ * 
+ * @param content Elementos de la página
+ * @param size Tamaño de página solicitado
+ * @param hasNext true si existen más elementos tras esta página
+ * @param nextCursor Token opaco para obtener la siguiente página (null si no hay más)
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.example.ProyectoFinal.dto;
+
+/**
+ * Número de alumnos con email de un dominio
+ * 
+ * @param domain Dominio del email (la parte tras la @, en minúsculas)
+ * @param total Número de alumnos
+ */
+public record EmailDomainCount(String domain, long total) {
+}
@@ -0,0 +1,12 @@
+package com.example.ProyectoFinal.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Número de alumnos registrados en una fecha
+ * 
+ * @param fechaRegistro Fecha de registro
+ * @param total Número de alumnos
+ */
+public record FechaRegistroCount(LocalDate fechaRegistro, long total) {
+}
@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Página de resultados sin total de elementos (no ejecuta COUNT)
+ * 
+ * @param content Elementos de la página
+ * @param page Número de página (inicia en 0)
+ * @param size Tamaño de página solicitado
+ * @param hasNext true si existe una página siguiente
+ */
+public record SliceResponse<T>(List<T> content, int page, int size, boolean hasNext) {
+
+    /**
+     * Crea la respuesta a partir de un Slice de Spring Data
+     */
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ProyectoFinal.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Respuesta de POST /api/auth/token (formato OAuth 2.0)
+ * 
+ * @param accessToken Token a enviar en la cabecera "Authorization: Bearer ..."
+ * @param tokenType Siempre "Bearer"
+ * @param expiresIn Segundos de validez del token
+ */
+public record TokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("expires_in") long expiresIn) {
+}
@@ -1,9 +1,12 @@
 package com.example.ProyectoFinal.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 /**
@@ -11,15 +14,22 @@ import java.time.LocalDate;
  * Contiene información básica del estudiante y su fecha de registro
  */
 @Entity
-@Table(name = "alumnos")
+@Table(name = "alumnos", indexes = {
+    // Índices para la paginación por cursor: (campo de ordenación, id)
+    @Index(name = "idx_alumnos_nombre_id", columnList = "nombre, id"),
+    @Index(name = "idx_alumnos_fecha_registro_id", columnList = "fecha_registro, id")
+})
 public class Alumno {
 
     /**
      * Identificador único del alumno
-     * Generado automáticamente por la base de datos
+     * Generado con una secuencia que reserva bloques de 50 valores (optimizador pooled),
+     * lo que permite a Hibernate agrupar los INSERT en lotes JDBC. En bases de datos con IDs
+     * asignados antes por IDENTITY, la migración V2 avanza la secuencia tras el mayor ID
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alumnos_seq")
+    @SequenceGenerator(name = "alumnos_seq", sequenceName = "alumnos_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -46,6 +56,24 @@ public class Alumno {
     @Column(name = "fecha_registro", nullable = false)
     private LocalDate fechaRegistro;
 
+    /**
+     * Versión del registro para el bloqueo optimista
+     * Se incrementa en cada actualización y se publica como ETag; no se puede modificar desde la API
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    /**
+     * Fecha y hora de la última modificación (cabecera Last-Modified)
+     * Se actualiza automáticamente al crear y al modificar el registro
+     */
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     // -------------------------
     // Constructores
     // -------------------------
@@ -96,6 +124,22 @@ public class Alumno {
         this.fechaRegistro = fechaRegistro;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     // -------------------------
     // toString
     // -------------------------
@@ -107,6 +151,7 @@ public class Alumno {
                 ", nombre='" + nombre + '\'' +
                 ", email='" + email + '\'' +
                 ", fechaRegistro=" + fechaRegistro +
+                ", version=" + version +
                 '}';
     }
 
@@ -119,5 +164,15 @@ public class Alumno {
         if (fechaRegistro == null) {
             fechaRegistro = LocalDate.now();
         }
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Método que se ejecuta automáticamente antes de actualizar la entidad
+     * Registra la fecha y hora de la modificación
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
     }
 }
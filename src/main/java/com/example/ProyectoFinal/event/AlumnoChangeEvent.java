@@ -0,0 +1,52 @@
+package com.example.ProyectoFinal.event;
+
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.entity.Alumno;
+
+/**
+ * Evento publicado por AlumnoService cada vez que se crea, actualiza o elimina un alumno
+ * Los componentes que mantienen datos derivados (índices, cachés, contadores) lo escuchan
+ * con @TransactionalEventListener para aplicar el cambio solo cuando la transacción se confirma
+ * 
+ * @param type Tipo de cambio
+ * @param id Identificador del alumno afectado
+ * @param current Estado tras el cambio (null en eliminaciones). En las actualizaciones parciales
+ *                solo contiene el ID y los campos modificados
+ * @param previous Estado antes del cambio (null en creaciones). En las actualizaciones parciales,
+ *                 que no leen el alumno, solo contiene el ID y el email anterior si el email cambia,
+ *                 o es null si no cambia
+ * @param actor Usuario que pidió el cambio, o null si no se conoce. Lo fija AlumnoService al publicar
+ *              el evento, porque la transacción puede confirmarse en otro hilo (escritura diferida)
+ */
+public record AlumnoChangeEvent(AlumnoChangeType type, Long id, AlumnoSnapshot current, AlumnoSnapshot previous,
+                                String actor) {
+
+    public AlumnoChangeEvent(AlumnoChangeType type, Long id, AlumnoSnapshot current, AlumnoSnapshot previous) {
+        this(type, id, current, previous, null);
+    }
+
+    public static AlumnoChangeEvent created(Alumno alumno) {
+        return new AlumnoChangeEvent(AlumnoChangeType.CREATED, alumno.getId(), AlumnoSnapshot.of(alumno), null);
+    }
+
+    public static AlumnoChangeEvent updated(AlumnoSnapshot previous, Alumno alumno) {
+        return new AlumnoChangeEvent(AlumnoChangeType.UPDATED, alumno.getId(), AlumnoSnapshot.of(alumno), previous);
+    }
+
+    public static AlumnoChangeEvent patched(Long id, AlumnoPatch patch, String previousEmail) {
+        return new AlumnoChangeEvent(AlumnoChangeType.UPDATED, id,
+                new AlumnoSnapshot(id, patch.nombre(), patch.email(), null),
+                previousEmail != null ? new AlumnoSnapshot(id, null, previousEmail, null) : null);
+    }
+
+    public static AlumnoChangeEvent deleted(AlumnoSnapshot previous) {
+        return new AlumnoChangeEvent(AlumnoChangeType.DELETED, previous.id(), null, previous);
+    }
+
+    /**
+     * El mismo evento con el usuario que pidió el cambio
+     */
+    public AlumnoChangeEvent withActor(String actor) {
+        return new AlumnoChangeEvent(type, id, current, previous, actor);
+    }
+}
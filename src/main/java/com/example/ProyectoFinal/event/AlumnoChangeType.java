@@ -0,0 +1,10 @@
+package com.example.ProyectoFinal.event;
+
+/**
+ * Tipo de modificación realizada sobre un alumno
+ */
+public enum AlumnoChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,27 @@
+package com.example.ProyectoFinal.event;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Copia inmutable del estado de un alumno en un momento dado
+ * Se usa en los eventos de cambio para no compartir entidades gestionadas por JPA
+ * Los campos a null (no modificados en una actualización parcial) no se serializan
+ * 
+ * @param id Identificador del alumno
+ * @param nombre Nombre del alumno
+ * @param email Correo electrónico del alumno
+ * @param fechaRegistro Fecha de registro del alumno
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlumnoSnapshot(Long id, String nombre, String email, LocalDate fechaRegistro) {
+
+    /**
+     * Crea una copia del estado actual de la entidad
+     */
+    public static AlumnoSnapshot of(Alumno alumno) {
+        return new AlumnoSnapshot(alumno.getId(), alumno.getNombre(), alumno.getEmail(), alumno.getFechaRegistro());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ProyectoFinal.exception;
+
+/**
+ * Excepción personalizada para peticiones con parámetros inválidos
+ * Se lanza cuando un parámetro de la petición no tiene un valor aceptado
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor que acepta un mensaje y una causa
+     * 
+     * @param message Mensaje descriptivo del error
+     * @param cause Causa raíz de la excepción
+     */
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ProyectoFinal.exception;
+
+/**
+ * Excepción lanzada cuando la operación entra en conflicto con el estado actual de los datos
+ * Por ejemplo, al registrar un email que ya pertenece a otro alumno
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ProyectoFinal.exception;
+
+/**
+ * Excepción lanzada cuando una petición no termina dentro del plazo indicado por el cliente
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor que acepta un mensaje de error y la causa
+     * 
+     * @param message Mensaje descriptivo del error
+     * @param cause Excepción original (p. ej. la cancelación de la consulta)
+     */
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.ProyectoFinal.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -36,6 +41,156 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja excepciones de parámetros inválidos (400 Bad Request)
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 400
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequestException(BadRequestException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Petición inválida");
+        errorDetails.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja peticiones condicionales cuya precondición no se cumple (412 Precondition Failed)
+     * Se produce cuando If-Match no coincide con la versión actual del alumno
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        errorDetails.put("error", "Precondición fallida");
+        errorDetails.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Maneja modificaciones concurrentes del mismo alumno (409 Conflict)
+     * Otra petición actualizó el registro entre la lectura y la escritura (bloqueo optimista)
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 409
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        errorDetails.put("error", "Conflicto de versión");
+        errorDetails.put("message", "El alumno ha sido modificado por otra petición, vuelva a leerlo e inténtelo de nuevo");
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja conflictos con el estado actual de los datos (409 Conflict)
+     * Se produce, por ejemplo, al registrar un email que ya pertenece a otro alumno
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 409
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflictException(ConflictException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        errorDetails.put("error", "Conflicto");
+        errorDetails.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja violaciones de restricciones de la base de datos (409 Conflict)
+     * Cubre los casos que la comprobación previa no puede detectar, como dos altas
+     * simultáneas con el mismo email
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 409
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        errorDetails.put("error", "Conflicto");
+        errorDetails.put("message", "Los datos entran en conflicto con un registro existente (por ejemplo, email duplicado)");
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja peticiones que no terminan dentro del plazo pedido (504 Gateway Timeout)
+     * La consulta se cancela en la base de datos al vencer el plazo
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 504
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceededException(DeadlineExceededException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        errorDetails.put("error", "Plazo agotado");
+        errorDetails.put("message", ex.getMessage());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Maneja peticiones rechazadas por superar el límite de ritmo (429 Too Many Requests)
+     * Incluye la cabecera Retry-After con los segundos hasta la siguiente petición permitida
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 429
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorDetails.put("error", "Demasiadas peticiones");
+        errorDetails.put("message", ex.getMessage());
+        
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorDetails);
+    }
+
+    /**
+     * Maneja peticiones rechazadas por saturación (503 Service Unavailable)
+     * Incluye la cabecera Retry-After con los segundos recomendados antes de reintentar
+     * 
+     * @param ex Excepción lanzada
+     * @return ResponseEntity con detalles del error y código HTTP 503
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorDetails.put("error", "Servicio saturado");
+        errorDetails.put("message", ex.getMessage());
+        
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorDetails);
+    }
+
     /**
      * Maneja excepciones de validación de datos (400 Bad Request)
      * Se activa cuando los datos del request no pasan las validaciones (@Valid)
@@ -64,6 +219,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja errores de validación detectados fuera del binding de @Valid (400 Bad Request)
+     * Por ejemplo, al validar solo los campos enviados en un PATCH
+     * 
+     * @param ex Excepción que contiene las restricciones incumplidas
+     * @return ResponseEntity con todos los errores de validación y código HTTP 400
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Error de validación");
+        errorDetails.put("message", "Los datos proporcionados no son válidos");
+        errorDetails.put("validationErrors", errors);
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Maneja cualquier otra excepción no específicamente capturada (500 Internal Server Error)
      * 
@@ -0,0 +1,17 @@
+package com.example.ProyectoFinal.exception;
+
+/**
+ * Excepción lanzada cuando no se cumple una precondición de la petición
+ * Por ejemplo, cuando la cabecera If-Match no coincide con la versión actual del recurso
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructor que acepta un mensaje de error
+     * 
+     * @param message Mensaje descriptivo del error
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
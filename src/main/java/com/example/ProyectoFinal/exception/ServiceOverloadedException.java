@@ -0,0 +1,27 @@
+package com.example.ProyectoFinal.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando el servidor no puede aceptar más trabajo en este momento
+ * Por ejemplo, cuando la cola de escritura diferida está llena
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor que acepta un mensaje de error y el tiempo de espera recomendado
+     * 
+     * @param message Mensaje descriptivo del error
+     * @param retryAfter Tiempo tras el que el cliente puede reintentar
+     */
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
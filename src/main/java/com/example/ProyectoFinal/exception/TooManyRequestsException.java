@@ -0,0 +1,27 @@
+package com.example.ProyectoFinal.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando un cliente supera el número de peticiones permitido
+ * para un endpoint
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor que acepta un mensaje de error y el tiempo de espera recomendado
+     * 
+     * @param message Mensaje descriptivo del error
+     * @param retryAfter Tiempo tras el que el cliente dispondrá de una nueva petición
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.ProyectoFinal.feed;
+
+import com.example.ProyectoFinal.dto.AlumnoChange;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed de cambios de alumnos para suscriptores Server-Sent Events
+ *
+ * Cada cambio confirmado (AlumnoChangeEvent tras el commit) recibe un número de secuencia y
+ * se guarda en un buffer circular con los últimos buffer-size cambios. Cada suscriptor solo
+ * guarda hasta qué secuencia ha recibido y un pool pequeño de hilos le envía lo pendiente en
+ * bloques, a su ritmo: un cliente lento no retrasa a los demás ni hace crecer la memoria. Si
+ * un suscriptor se queda más de buffer-size cambios atrás, recibe un evento "reset" y debe
+ * volver a leer el listado completo antes de seguir con el feed
+ *
+ * Los IDs de evento tienen la forma {arranque}-{secuencia}: un cliente que reconecta con
+ * Last-Event-ID recibe los cambios posteriores si siguen en el buffer; si el ID es de un
+ * arranque anterior de la aplicación o ya no está en el buffer, recibe "reset"
+ */
+@Component
+public class AlumnoChangeFeed implements DisposableBean {
+
+    public static final String RESET_EVENT = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoChangeFeed.class);
+    private static final int MAX_BATCH = 100;
+
+    private final AlumnoChange[] buffer;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Duration emitterTimeout;
+    private final int maxSubscribers;
+    private final ScheduledExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter resets;
+
+    /** Última secuencia asignada (protegida por el monitor de buffer) */
+    private long head;
+
+    @Autowired
+    public AlumnoChangeFeed(MeterRegistry meterRegistry,
+                            @Value("${alumnos.feed.buffer-size:10000}") int bufferSize,
+                            @Value("${alumnos.feed.max-subscribers:100}") int maxSubscribers,
+                            @Value("${alumnos.feed.sender-threads:2}") int senderThreads,
+                            @Value("${alumnos.feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                            @Value("${alumnos.feed.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.buffer = new AlumnoChange[bufferSize];
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeout = emitterTimeout;
+        AtomicInteger threads = new AtomicInteger();
+        this.sender = Executors.newScheduledThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "alumnos-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        sender.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat),
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        Gauge.builder("alumnos.feed.subscribers", subscribers, Set::size)
+                .description("Suscriptores conectados al feed de cambios")
+                .register(meterRegistry);
+        this.resets = Counter.builder("alumnos.feed.resets")
+                .description("Suscriptores que han tenido que volver a leer el listado completo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Añade al feed un cambio ya confirmado y avisa a los suscriptores
+     *
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        AlumnoChange change = AlumnoChange.of(event, Instant.now());
+        synchronized (buffer) {
+            head++;
+            buffer[(int) (head % buffer.length)] = change;
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Crea una suscripción al feed
+     *
+     * @param lastEventId Último ID recibido por el cliente (cabecera Last-Event-ID), o null
+     *                    para recibir solo los cambios a partir de ahora
+     * @return Emisor SSE de la suscripción
+     * @throws ServiceOverloadedException si se ha alcanzado el número máximo de suscriptores
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException("Número máximo de suscriptores del feed alcanzado ("
+                    + maxSubscribers + ")", Duration.ofSeconds(30));
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+
+        long current = head();
+        Long resumeFrom = parseSequence(lastEventId);
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscriber.cursor = current;
+        } else if (resumeFrom == null || resumeFrom > current) {
+            subscriber.cursor = current;
+            subscriber.resetPending = true;
+        } else {
+            subscriber.cursor = resumeFrom;
+        }
+        // Se publica con la posición ya fijada: un envío lanzado por un cambio concurrente no
+        // puede empezar desde 0 ni sobrescribirla; los cambios posteriores a current los envía schedule()
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Última secuencia asignada
+     */
+    public long head() {
+        synchronized (buffer) {
+            return head;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Secuencia de un ID de evento de este arranque, o null si es de otro arranque o no es válido
+     */
+    private Long parseSequence(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Copia los cambios posteriores a from (como máximo MAX_BATCH)
+     *
+     * @return Cambios pendientes, o null si parte de ellos ya no está en el buffer
+     */
+    private List<AlumnoChange> readAfter(long from) {
+        synchronized (buffer) {
+            if (head - from > buffer.length) {
+                return null;
+            }
+            long to = Math.min(head, from + MAX_BATCH);
+            List<AlumnoChange> changes = new ArrayList<>((int) (to - from));
+            for (long sequence = from + 1; sequence <= to; sequence++) {
+                changes.add(buffer[(int) (sequence % buffer.length)]);
+            }
+            return changes;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Suscriptor del feed: su posición y el estado de su tarea de envío
+     * Solo hay como mucho una tarea de envío por suscriptor en cada momento
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean resetPending;
+        private volatile boolean heartbeatPending;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void schedule() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RuntimeException ex) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void heartbeat() {
+            heartbeatPending = true;
+            schedule();
+        }
+
+        /**
+         * Envía un bloque de cambios pendientes y, si quedan más, se vuelve a programar
+         */
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> events = new LinkedHashSet<>();
+                long position = cursor;
+                List<AlumnoChange> changes = resetPending ? null : readAfter(position);
+                if (changes == null) {
+                    position = head();
+                    events.addAll(SseEmitter.event().id(eventId(position)).name(RESET_EVENT)
+                            .data(Map.of("sequence", position), MediaType.APPLICATION_JSON).build());
+                    resetPending = false;
+                    resets.increment();
+                } else {
+                    for (AlumnoChange change : changes) {
+                        position++;
+                        events.addAll(SseEmitter.event().id(eventId(position))
+                                .name(change.type().name().toLowerCase())
+                                .data(change, MediaType.APPLICATION_JSON).build());
+                    }
+                }
+                if (events.isEmpty() && heartbeatPending) {
+                    events.addAll(SseEmitter.event().comment("heartbeat").build());
+                }
+                heartbeatPending = false;
+                if (!events.isEmpty()) {
+                    emitter.send(events);
+                }
+                cursor = position;
+            } catch (IOException | IllegalStateException ex) {
+                // El contenedor notifica también el error al emisor (onError)
+                log.debug("Suscriptor del feed desconectado: {}", ex.getMessage());
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (cursor < head()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ProyectoFinal.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica el número de sentencias SQL ejecutadas por cada petición a la API
+ * (métrica alumnos.http.queries, etiquetada por método y URI)
+ * En las peticiones asíncronas incluye las sentencias del pool de consultas y se registra al
+ * completarse la respuesta
+ */
+public class QueriesPerRequestFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "alumnos.http.queries";
+
+    private final QueryCountingStatementInspector inspector;
+    private final MeterRegistry meterRegistry;
+
+    public QueriesPerRequestFilter(QueryCountingStatementInspector inspector, MeterRegistry meterRegistry) {
+        this.inspector = inspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AtomicInteger queries = inspector.end();
+            if (request.isAsyncStarted()) {
+                // Las consultas con plazo siguen en el pool de consultas: se registra al terminar
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, queries.get());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, queries.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int queries) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Sentencias SQL ejecutadas por petición")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(queries);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ProyectoFinal.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual
+ * El contador solo está activo entre {@link #begin()} y {@link #end()} (una petición HTTP),
+ * y en las tareas de otros hilos envueltas con {@link #propagate(Runnable)} durante ese tiempo
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private final ThreadLocal<AtomicInteger> counter = new ThreadLocal<>();
+
+    /**
+     * Empieza a contar en el hilo actual
+     */
+    public void begin() {
+        counter.set(new AtomicInteger());
+    }
+
+    /**
+     * Deja de contar en el hilo actual
+     * El contador devuelto sigue sumando las sentencias de las tareas propagadas que aún no han
+     * terminado (peticiones asíncronas)
+     *
+     * @return Contador de sentencias preparadas desde {@link #begin()}
+     */
+    public AtomicInteger end() {
+        AtomicInteger count = counter.get();
+        counter.remove();
+        return count != null ? count : new AtomicInteger();
+    }
+
+    /**
+     * Envuelve una tarea para que sus sentencias cuenten en el contador del hilo actual
+     * Si el hilo actual no está contando, la tarea se devuelve sin cambios
+     */
+    public Runnable propagate(Runnable task) {
+        AtomicInteger count = counter.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = counter.get();
+            counter.set(count);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    counter.set(previous);
+                } else {
+                    counter.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = counter.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
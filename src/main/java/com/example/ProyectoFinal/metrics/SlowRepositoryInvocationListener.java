@@ -0,0 +1,37 @@
+package com.example.ProyectoFinal.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra en el log las llamadas a repositorios que superan un umbral de tiempo
+ * (alumnos.metrics.slow-query-threshold), indicando el repositorio, el método y su resultado
+ */
+public class SlowRepositoryInvocationListener implements RepositoryMethodInvocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRepositoryInvocationListener.class);
+
+    private final long thresholdNanos;
+
+    public SlowRepositoryInvocationListener(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long nanos = invocation.getDuration(TimeUnit.NANOSECONDS);
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        RepositoryMethodInvocationResult result = invocation.getResult();
+        log.warn("Consulta lenta: {}.{} tardó {} ms ({})",
+                invocation.getRepositoryInterface().getSimpleName(),
+                invocation.getMethod().getName(),
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                result != null ? result.getState() : "desconocido");
+    }
+}
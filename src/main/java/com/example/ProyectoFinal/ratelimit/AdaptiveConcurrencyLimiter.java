@@ -0,0 +1,104 @@
+package com.example.ProyectoFinal.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Límite adaptativo de peticiones simultáneas (AIMD)
+ *
+ * Mientras las peticiones terminan por debajo del umbral de latencia y el límite se está
+ * usando, crece en una petición por cada "límite" peticiones completadas (aumento aditivo).
+ * Cuando una petición supera el umbral, el límite se multiplica por backoff-ratio
+ * (disminución multiplicativa), como mucho una vez por umbral de latencia para que una
+ * ráfaga de respuestas lentas no lo hunda de golpe. Las peticiones por encima del límite
+ * se rechazan en lugar de encolarse, de modo que la base de datos no acumula trabajo que
+ * el cliente ya habrá abandonado
+ *
+ * El límite y las peticiones en curso se actualizan con compare-and-set, sin bloqueos
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos;
+
+    /**
+     * @param initialLimit Límite de partida
+     * @param minLimit Límite mínimo
+     * @param maxLimit Límite máximo
+     * @param latencyThreshold Latencia a partir de la cual se reduce el límite
+     * @param backoffRatio Factor de reducción (entre 0 y 1)
+     */
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                               double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Configuración del límite de concurrencia no válida");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+        this.lastDecreaseNanos = new AtomicLong(System.nanoTime() - latencyThresholdNanos);
+    }
+
+    /**
+     * Reserva un hueco si hay menos peticiones en curso que el límite actual
+     *
+     * @return true si la petición puede continuar; debe llamarse después a {@link #release}
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco de una petición terminada y ajusta el límite con su latencia
+     *
+     * @param latencyNanos Duración de la petición
+     * @param nowNanos Instante actual (System.nanoTime)
+     */
+    void release(long latencyNanos, long nowNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            long last = lastDecreaseNanos.get();
+            if (nowNanos - last >= latencyThresholdNanos && lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+                updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else if (current * 2 >= limit()) {
+            updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    /**
+     * Límite actual de peticiones simultáneas
+     */
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * Peticiones en curso
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator function) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.ProyectoFinal.ratelimit;
+
+import com.example.ProyectoFinal.exception.ServiceOverloadedException;
+import com.example.ProyectoFinal.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Control de admisión de las peticiones a /api/alumnos
+ *
+ * Se ejecuta después de Spring Security (ya se conoce el usuario) y antes del controlador:
+ * - Límite de ritmo: un cubo de fichas por usuario y endpoint (método + patrón de la URI).
+ *   Al agotarse se responde 429 con Retry-After. Los endpoints caros (listado completo,
+ *   exportación, búsqueda) pueden tener un ritmo propio en alumnos.rate-limit.endpoints
+ * - Límite de concurrencia adaptativo, común a todos los usuarios: si hay más peticiones
+ *   en curso que el límite se responde 503 con Retry-After. El límite baja cuando la
+ *   latencia supera el umbral y sube mientras se mantiene por debajo
+ *
+ * Ambos están desactivados por defecto (alumnos.rate-limit.enabled y alumnos.concurrency-limit.enabled):
+ * con una única cuenta de usuario, el cubo "por usuario" es en la práctica un límite global
+ *
+ * Métricas: alumnos.rate_limit.requests (etiquetas outcome = admitted, throttled o shed,
+ * y uri), alumnos.concurrency_limit.limit y alumnos.concurrency_limit.in_flight
+ */
+@Component
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIC_NAME = "alumnos.rate_limit.requests";
+
+    private static final String START_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean rateLimitEnabled;
+    private final EndpointLimit defaultLimit;
+    private final Map<String, EndpointLimit> endpointLimits;
+    private final Cache<String, TokenBucket> buckets;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Set<String> concurrencyExcluded;
+    private final Duration latencyThreshold;
+
+    @Autowired
+    public RateLimitInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${alumnos.rate-limit.enabled:false}") boolean rateLimitEnabled,
+            @Value("${alumnos.rate-limit.requests-per-second:100}") double requestsPerSecond,
+            @Value("${alumnos.rate-limit.burst:200}") int burst,
+            @Value("${alumnos.rate-limit.endpoints:}") List<String> endpoints,
+            @Value("${alumnos.rate-limit.maximum-buckets:100000}") long maximumBuckets,
+            @Value("${alumnos.concurrency-limit.enabled:false}") boolean concurrencyLimitEnabled,
+            @Value("${alumnos.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${alumnos.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${alumnos.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${alumnos.concurrency-limit.latency-threshold:500ms}") Duration latencyThreshold,
+            @Value("${alumnos.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${alumnos.concurrency-limit.excluded-endpoints:}") Set<String> concurrencyExcluded) {
+        this.meterRegistry = meterRegistry;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.defaultLimit = new EndpointLimit(requestsPerSecond, burst);
+        this.endpointLimits = parseEndpointLimits(endpoints);
+        // Un cubo que no se usa durante el tiempo que tarda en llenarse equivale a uno nuevo
+        Duration refill = endpointLimits.values().stream()
+                .map(EndpointLimit::refillTime)
+                .reduce(defaultLimit.refillTime(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refill)
+                .maximumSize(maximumBuckets)
+                .build();
+        this.latencyThreshold = latencyThreshold;
+        this.concurrencyExcluded = concurrencyExcluded;
+        if (concurrencyLimitEnabled) {
+            this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                    latencyThreshold, backoffRatio);
+            Gauge.builder("alumnos.concurrency_limit.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Límite actual de peticiones simultáneas a la API")
+                    .register(meterRegistry);
+            Gauge.builder("alumnos.concurrency_limit.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("Peticiones a la API en curso")
+                    .register(meterRegistry);
+        } else {
+            this.concurrencyLimiter = null;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // El redespacho de una petición asíncrona ya fue admitido (y conserva su hueco)
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String endpoint = endpoint(request);
+        long now = System.nanoTime();
+
+        if (rateLimitEnabled) {
+            EndpointLimit limit = endpointLimits.getOrDefault(endpoint, defaultLimit);
+            TokenBucket bucket = buckets.get(client(request) + " " + endpoint,
+                    key -> new TokenBucket(limit.requestsPerSecond(), limit.burst(), now));
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos > 0) {
+                count("throttled", request);
+                throw new TooManyRequestsException("Límite de peticiones superado para " + endpoint + " ("
+                        + limit.requestsPerSecond() + " por segundo)", Duration.ofNanos(waitNanos));
+            }
+        }
+
+        if (concurrencyLimiter != null && !concurrencyExcluded.contains(endpoint)) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                count("shed", request);
+                throw new ServiceOverloadedException("Demasiadas peticiones en curso (límite actual: "
+                        + concurrencyLimiter.limit() + ")", latencyThreshold);
+            }
+            request.setAttribute(START_ATTRIBUTE, now);
+        }
+        count("admitted", request);
+        return true;
+    }
+
+    /**
+     * Libera el hueco al terminar la petición; en las asíncronas, al terminar su redespacho
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            request.removeAttribute(START_ATTRIBUTE);
+            long now = System.nanoTime();
+            concurrencyLimiter.release(now - start, now);
+        }
+    }
+
+    private void count(String outcome, HttpServletRequest request) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder(METRIC_NAME)
+                .description("Peticiones a la API admitidas o rechazadas por el control de admisión")
+                .tag("outcome", outcome)
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Endpoint de la petición: método y patrón de la URI, p. ej. "GET /api/alumnos/{id}"
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : request.getRemoteAddr();
+    }
+
+    /**
+     * Interpreta entradas "MÉTODO /patrón=peticiones-por-segundo/ráfaga"
+     */
+    private static Map<String, EndpointLimit> parseEndpointLimits(List<String> entries) {
+        Map<String, EndpointLimit> limits = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.lastIndexOf('=');
+            int slash = entry.lastIndexOf('/');
+            if (equals < 0 || slash < equals) {
+                throw new IllegalArgumentException("Límite de endpoint no válido (se espera "
+                        + "'MÉTODO /patrón=peticiones-por-segundo/ráfaga'): " + entry);
+            }
+            limits.put(entry.substring(0, equals).trim(), new EndpointLimit(
+                    Double.parseDouble(entry.substring(equals + 1, slash).trim()),
+                    Integer.parseInt(entry.substring(slash + 1).trim())));
+        }
+        return limits;
+    }
+
+    private record EndpointLimit(double requestsPerSecond, int burst) {
+
+        private Duration refillTime() {
+            return Duration.ofMillis((long) Math.ceil(burst * 1000 / requestsPerSecond)).plusSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ProyectoFinal.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubo de fichas (token bucket) sin bloqueos
+ *
+ * Se implementa como GCRA: en lugar de guardar las fichas disponibles y la hora de la última
+ * recarga, guarda un único instante, el momento en que el cubo volverá a estar lleno si no
+ * llegan más peticiones. Cada petición lo adelanta un intervalo de emisión (1 / ritmo) y se
+ * admite si no queda más de capacity intervalos por delante del instante actual. Al ser un
+ * único long, se actualiza con compare-and-set
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param permitsPerSecond Ritmo sostenido de peticiones
+     * @param capacity Peticiones que se admiten seguidas con el cubo lleno (ráfaga)
+     * @param nowNanos Instante actual; el cubo empieza lleno
+     */
+    TokenBucket(double permitsPerSecond, int capacity, long nowNanos) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Ritmo y capacidad deben ser positivos");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = emissionIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir una ficha
+     *
+     * @param nowNanos Instante actual (System.nanoTime)
+     * @return 0 si se admite la petición; si no, nanosegundos hasta que haya una ficha
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
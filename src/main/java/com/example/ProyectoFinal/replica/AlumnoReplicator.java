@@ -0,0 +1,371 @@
+package com.example.ProyectoFinal.replica;
+
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantiene las réplicas de lectura sincronizadas con la base de datos principal y decide
+ * si una lectura puede ir a una réplica
+ *
+ * H2 no tiene replicación propia, así que se replica desde la aplicación: cada cambio
+ * confirmado (AlumnoChangeEvent) recibe un número de secuencia y entra en una cola; un hilo
+ * la vacía en bloques, lee de la principal el estado actual de esos alumnos y lo copia en
+ * cada réplica en una transacción (borrar e insertar, así que aplicar dos veces el mismo
+ * cambio no tiene efecto). Al arrancar, al desbordarse la cola o si un bloque falla, la
+ * réplica se copia entera y, mientras tanto, no recibe lecturas
+ *
+ * Una lectura va a una réplica solo si:
+ * - La réplica está sincronizada y el cambio pendiente más antiguo tiene menos de max-lag
+ * - El cliente no ha hecho en los últimos read-your-writes un cambio que la réplica aún no
+ *   tenga (lee lo que acaba de escribir)
+ *
+ * El esquema de las réplicas lo crean las mismas migraciones de Flyway; si una migración
+ * añade columnas a alumnos hay que añadirlas también a COLUMNS
+ */
+public class AlumnoReplicator implements SmartLifecycle, DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoReplicator.class);
+    private static final String COLUMNS = "id, nombre, email, fecha_registro, version, updated_at";
+    private static final String INSERT = "insert into alumnos (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?)";
+    private static final int COPY_BATCH_SIZE = 1_000;
+
+    private final NamedParameterJdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final int batchSize;
+    private final BlockingQueue<Change> queue;
+    private final Cache<String, Long> lastWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /** Última secuencia asignada (protegida por el monitor de queue) */
+    private long head;
+    private volatile Change inFlight;
+    private volatile boolean overflowed;
+    private volatile boolean running;
+    private Thread applier;
+
+    /**
+     * @param primary Base de datos principal
+     * @param replicas Réplicas por nombre
+     * @param meterRegistry Registro de métricas
+     * @param maxLag Retraso máximo de una réplica para recibir lecturas
+     * @param readYourWrites Tiempo durante el que se recuerda el último cambio de cada cliente
+     * @param queueCapacity Cambios pendientes como máximo; si se supera, las réplicas se copian enteras
+     * @param batchSize Cambios aplicados por transacción
+     */
+    public AlumnoReplicator(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry,
+                            Duration maxLag, Duration readYourWrites, int queueCapacity, int batchSize) {
+        this.primary = new NamedParameterJdbcTemplate(primary);
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.lastWrites = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWrites)
+                .maximumSize(100_000)
+                .build();
+        TimeGauge.builder("alumnos.replica.lag", this, TimeUnit.NANOSECONDS, AlumnoReplicator::lagNanos)
+                .description("Antigüedad del cambio más antiguo pendiente de aplicar en las réplicas")
+                .register(meterRegistry);
+        Gauge.builder("alumnos.replica.pending", queue, BlockingQueue::size)
+                .description("Cambios pendientes de aplicar en las réplicas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola un cambio ya confirmado y lo anota como último cambio del usuario que lo pidió
+     *
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        long sequence;
+        // La secuencia se asigna y encola a la vez para que la cola quede ordenada
+        synchronized (queue) {
+            sequence = ++head;
+            if (!queue.offer(new Change(sequence, event.id(), System.nanoTime()))) {
+                overflowed = true;
+            }
+        }
+        // El usuario viaja en el evento: la escritura diferida confirma en un hilo sin usuario
+        if (event.actor() != null) {
+            lastWrites.put(event.actor(), sequence);
+        }
+    }
+
+    /**
+     * Elige dónde ejecutar una lectura
+     *
+     * @param client Usuario que hace la lectura, o null si no se conoce
+     * @return Destino (nombre de la réplica o PRIMARY) y motivo
+     */
+    public Route route(String client) {
+        Long lastWrite = client != null ? lastWrites.getIfPresent(client) : null;
+        long required = lastWrite != null ? lastWrite : 0;
+        List<Replica> ready = replicas.stream().filter(replica -> replica.ready).toList();
+        if (ready.isEmpty()) {
+            return new Route(PRIMARY, "unavailable");
+        }
+        if (lagNanos() > maxLag.toNanos()) {
+            return new Route(PRIMARY, "lag");
+        }
+        List<Replica> upToDate = ready.stream().filter(replica -> replica.applied >= required).toList();
+        if (upToDate.isEmpty()) {
+            return new Route(PRIMARY, "read-your-writes");
+        }
+        int index = Math.floorMod(nextReplica.getAndIncrement(), upToDate.size());
+        return new Route(upToDate.get(index).name, "replica");
+    }
+
+    /**
+     * Réplicas por nombre
+     */
+    public Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Antigüedad en nanosegundos del cambio más antiguo aún no aplicado (0 si no hay pendientes)
+     */
+    public long lagNanos() {
+        Change oldest = inFlight;
+        if (oldest == null) {
+            oldest = queue.peek();
+        }
+        return oldest != null ? Math.max(0, System.nanoTime() - oldest.nanos) : 0;
+    }
+
+    /**
+     * Usuario autenticado en el hilo actual, o null
+     */
+    public static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        applier = new Thread(this::run, "alumnos-replicator");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        applier.interrupt();
+        try {
+            applier.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Se detiene después de la escritura diferida (las réplicas se vuelven a copiar al arrancar)
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    /**
+     * Cierra los pools de conexiones de las réplicas
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (overflowed) {
+                    log.warn("Cola de replicación desbordada ({} cambios): se copian las réplicas enteras",
+                            queue.size());
+                    queue.clear();
+                    overflowed = false;
+                    replicas.forEach(replica -> replica.ready = false);
+                }
+                for (Replica replica : replicas) {
+                    if (!replica.ready) {
+                        copy(replica);
+                    }
+                }
+                Change first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Change> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                inFlight = first;
+                apply(batch);
+                inFlight = null;
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Error en la replicación, se reintenta: {}", ex.getMessage());
+                inFlight = null;
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Copia en cada réplica sincronizada el estado actual de los alumnos del bloque
+     */
+    private void apply(List<Change> batch) {
+        Set<Long> ids = new LinkedHashSet<>();
+        batch.forEach(change -> ids.add(change.id));
+        List<Object[]> rows = primary.query("select " + COLUMNS + " from alumnos where id in (:ids)",
+                Map.of("ids", ids), (rs, rowNum) -> row(rs));
+        long position = batch.get(batch.size() - 1).sequence;
+        for (Replica replica : replicas) {
+            if (!replica.ready) {
+                continue;
+            }
+            try {
+                replica.transaction.executeWithoutResult(status -> {
+                    new NamedParameterJdbcTemplate(replica.jdbc)
+                            .update("delete from alumnos where id in (:ids)", Map.of("ids", ids));
+                    replica.jdbc.batchUpdate(INSERT, rows);
+                });
+                replica.applied = position;
+            } catch (RuntimeException ex) {
+                // Por ejemplo, un email que en la réplica aún tiene otro alumno: se vuelve a copiar entera
+                log.warn("No se pudo aplicar un bloque de {} cambios en la réplica {}: {}",
+                        batch.size(), replica.name, ex.getMessage());
+                replica.ready = false;
+            }
+        }
+    }
+
+    /**
+     * Crea el esquema de la réplica si hace falta y copia la tabla entera desde la principal
+     * Los cambios que se confirman durante la copia quedan en la cola y se aplican después
+     */
+    private void copy(Replica replica) {
+        long start = System.nanoTime();
+        long position;
+        synchronized (queue) {
+            position = head;
+        }
+        Flyway.configure()
+                .dataSource(replica.dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+        int[] copied = new int[1];
+        replica.transaction.executeWithoutResult(status -> {
+            replica.jdbc.update("delete from alumnos");
+            List<Object[]> rows = new ArrayList<>(COPY_BATCH_SIZE);
+            primary.getJdbcTemplate().query("select " + COLUMNS + " from alumnos order by id", rs -> {
+                rows.add(row(rs));
+                if (rows.size() == COPY_BATCH_SIZE) {
+                    replica.jdbc.batchUpdate(INSERT, rows);
+                    copied[0] += rows.size();
+                    rows.clear();
+                }
+            });
+            replica.jdbc.batchUpdate(INSERT, rows);
+            copied[0] += rows.size();
+        });
+        replica.applied = position;
+        replica.ready = true;
+        log.info("Réplica {} sincronizada: {} alumnos copiados en {} ms", replica.name, copied[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        return new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3), rs.getDate(4), rs.getLong(5),
+                rs.getObject(6)};
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Destino de una lectura
+     *
+     * @param target Nombre de la réplica, o PRIMARY
+     * @param reason replica, o el motivo por el que va a la principal: unavailable (ninguna
+     *               réplica sincronizada), lag o read-your-writes
+     */
+    public record Route(String target, String reason) {
+    }
+
+    private record Change(long sequence, Long id, long nanos) {
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transaction;
+        private volatile boolean ready;
+        private volatile long applied;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+}
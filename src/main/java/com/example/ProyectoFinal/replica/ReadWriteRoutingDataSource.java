@@ -0,0 +1,91 @@
+package com.example.ProyectoFinal.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a una réplica y el resto a la principal
+ *
+ * La decisión se toma al pedir la conexión, con la transacción ya iniciada, así que debe usarse
+ * detrás de un LazyConnectionDataSourceProxy: Hibernate pide la conexión al empezar la transacción,
+ * pero el proxy solo obtiene la real al ejecutar la primera sentencia, cuando ya se sabe si la
+ * transacción es de solo lectura. Qué réplica se usa (o si la lectura debe ir a la principal por
+ * retraso o para leer lo que el cliente acaba de escribir) lo decide AlumnoReplicator, salvo en
+ * las lecturas hechas dentro de {@link #readFromPrimary(Supplier)}
+ *
+ * Métrica: alumnos.datasource.routing (etiquetas access = read o write, target = primary o el
+ * nombre de la réplica, reason = write, replica, unavailable, lag, read-your-writes o primary-only)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String METRIC_NAME = "alumnos.datasource.routing";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final AlumnoReplicator replicator;
+    private final MeterRegistry meterRegistry;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      AlumnoReplicator replicator, MeterRegistry meterRegistry) {
+        this.replicator = replicator;
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(AlumnoReplicator.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Ejecuta una lectura que debe ir a la principal aunque haya réplicas
+     * Solo afecta a las conexiones que se obtienen dentro de la llamada: debe envolver la primera
+     * sentencia de la transacción. Sin réplicas no tiene efecto
+     *
+     * @param read Lectura a ejecutar
+     * @return Resultado de la lectura
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        Boolean previous = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                primaryOnly.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            count("write", AlumnoReplicator.PRIMARY, "write");
+            return AlumnoReplicator.PRIMARY;
+        }
+        if (primaryOnly.get() != null) {
+            count("read", AlumnoReplicator.PRIMARY, "primary-only");
+            return AlumnoReplicator.PRIMARY;
+        }
+        AlumnoReplicator.Route route = replicator.route(AlumnoReplicator.currentClient());
+        count("read", route.target(), route.reason());
+        return route.target();
+    }
+
+    private void count(String access, String target, String reason) {
+        Counter.builder(METRIC_NAME)
+                .description("Conexiones obtenidas por tipo de acceso y destino")
+                .tag("access", access)
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ProyectoFinal.repository;
+
+/**
+ * Campos de un alumno que se pueden seleccionar en los listados (parámetro fields)
+ * Solo se leen de la base de datos las columnas de los campos seleccionados
+ */
+public enum AlumnoField {
+
+    ID("id"),
+    NOMBRE("nombre"),
+    EMAIL("email"),
+    FECHA_REGISTRO("fechaRegistro"),
+    VERSION("version"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    AlumnoField(String property) {
+        this.property = property;
+    }
+
+    /**
+     * Nombre de la propiedad JPA (y del campo JSON)
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Obtiene el campo a partir del nombre de la propiedad (ej: fechaRegistro)
+     * 
+     * @param property Nombre de la propiedad
+     * @return Campo, o null si no existe
+     */
+    public static AlumnoField fromProperty(String property) {
+        for (AlumnoField field : values()) {
+            if (field.property.equalsIgnoreCase(property) || field.name().equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
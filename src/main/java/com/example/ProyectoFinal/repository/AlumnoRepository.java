@@ -1,23 +1,144 @@
 package com.example.ProyectoFinal.repository;
 
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+import com.example.ProyectoFinal.dto.AlumnoVersion;
+import com.example.ProyectoFinal.dto.EmailDomainCount;
+import com.example.ProyectoFinal.dto.FechaRegistroCount;
 import com.example.ProyectoFinal.entity.Alumno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para operaciones de acceso a datos de la entidad Alumno
  * Extiende JpaRepository que proporciona métodos CRUD básicos y soporte para paginación
+ * Las consultas keyset se implementan en {@link AlumnoRepositoryImpl}
  */
 @Repository
-public interface AlumnoRepository extends JpaRepository<Alumno, Long> {
+public interface AlumnoRepository extends JpaRepository<Alumno, Long>, AlumnoRepositoryCustom {
 
     /**
      * Busca alumnos cuyo nombre contenga la cadena especificada (ignorando mayúsculas/minúsculas)
+     * Recorre la tabla completa (LIKE '%texto%'): solo se usa mientras el índice
+     * de búsqueda en memoria no está disponible
      * 
      * @param nombre Texto a buscar en el nombre del alumno
-     * @return Lista de alumnos que coinciden con el criterio de búsqueda
+     * @param pageable Configuración de paginación
+     * @return Página de alumnos que coinciden con el criterio de búsqueda
      */
-    List<Alumno> findByNombreContainingIgnoreCase(String nombre);
+    Page<Alumno> findByNombreContainingIgnoreCase(String nombre, Pageable pageable);
+
+    /**
+     * Recorre el ID y el nombre de todos los alumnos sin cargar entidades
+     * Se usa para reconstruir el índice de búsqueda en memoria
+     * 
+     * @return Stream de ID y nombre respaldado por un cursor abierto
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.ProyectoFinal.dto.AlumnoNombre(a.id, a.nombre) from Alumno a")
+    Stream<AlumnoNombre> streamAllNombres();
+
+    /**
+     * Recorre el email de todos los alumnos sin cargar entidades
+     * Se usa para cargar el filtro de unicidad de emails
+     * 
+     * @return Stream de emails respaldado por un cursor abierto
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.email from Alumno a")
+    Stream<String> streamAllEmails();
+
+    /**
+     * Comprueba si existe un alumno con el email indicado (índice único de la columna email)
+     * 
+     * @param email Email a comprobar
+     * @return true si ya está registrado
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Comprueba si otro alumno distinto del indicado tiene el email
+     * 
+     * @param email Email a comprobar
+     * @param id ID del alumno que se está modificando
+     * @return true si el email pertenece a otro alumno
+     */
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    /**
+     * Obtiene solo la versión y la fecha de modificación de un alumno
+     * Consulta por clave primaria sin cargar la entidad; se usa para responder
+     * a peticiones condicionales (If-None-Match / If-Modified-Since)
+     * 
+     * @param id Identificador del alumno
+     * @return Versión del alumno, o vacío si no existe
+     */
+    @Query("select new com.example.ProyectoFinal.dto.AlumnoVersion(a.id, a.version, a.updatedAt) "
+            + "from Alumno a where a.id = :id")
+    Optional<AlumnoVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Recorre todos los alumnos ordenados por ID mediante un cursor de base de datos
+     * Las filas se leen por bloques (fetch size) y se cargan en modo solo lectura,
+     * por lo que Hibernate no guarda copias para la comprobación de cambios
+     * El Stream debe consumirse dentro de una transacción y cerrarse al terminar
+     * 
+     * @return Stream de alumnos respaldado por un cursor abierto
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select a from Alumno a order by a.id")
+    Stream<Alumno> streamAllOrderById();
+
+    /**
+     * Obtiene una página de alumnos sin calcular el total de elementos
+     * Solo consulta tamaño + 1 filas para saber si existe una página siguiente
+     * 
+     * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
+     * @return Slice de alumnos
+     */
+    Slice<Alumno> findAllBy(Pageable pageable);
+
+    /**
+     * Busca los alumnos cuyo email está en la colección indicada
+     * Se apoya en el índice único de la columna email
+     * 
+     * @param emails Emails a buscar
+     * @return Alumnos encontrados (los emails sin alumno se omiten)
+     */
+    List<Alumno> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Cuenta los alumnos registrados en cada fecha
+     * 
+     * @return Número de alumnos por fecha de registro (solo las fechas con alumnos)
+     */
+    @Query("select new com.example.ProyectoFinal.dto.FechaRegistroCount(a.fechaRegistro, count(a)) "
+            + "from Alumno a group by a.fechaRegistro")
+    List<FechaRegistroCount> countByFechaRegistro();
+
+    /**
+     * Cuenta los alumnos de cada dominio de email (la parte tras la @, en minúsculas)
+     * 
+     * @return Número de alumnos por dominio
+     */
+    @Query("select new com.example.ProyectoFinal.dto.EmailDomainCount("
+            + "lower(substring(a.email, locate('@', a.email) + 1)), count(a)) "
+            + "from Alumno a group by lower(substring(a.email, locate('@', a.email) + 1))")
+    List<EmailDomainCount> countByEmailDomain();
 }
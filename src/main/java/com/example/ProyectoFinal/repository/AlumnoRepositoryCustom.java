@@ -0,0 +1,72 @@
+package com.example.ProyectoFinal.repository;
+
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.dto.AlumnoView;
+import com.example.ProyectoFinal.entity.Alumno;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas de Alumno que no pueden expresarse como métodos derivados de Spring Data
+ * Implementadas en {@link AlumnoRepositoryImpl}
+ */
+public interface AlumnoRepositoryCustom {
+
+    /**
+     * Obtiene la siguiente página de alumnos a partir de una posición (keyset/seek)
+     * Usa una comparación de fila (campo, id) que permite a la base de datos
+     * posicionarse directamente en el índice compuesto, sin OFFSET ni COUNT
+     * 
+     * @param sortKey Campo de ordenación (el ID se usa siempre como desempate)
+     * @param ascending true para orden ascendente, false para descendente
+     * @param afterKey Valor del campo de ordenación del último alumno devuelto (null en la primera página)
+     * @param afterId ID del último alumno devuelto (null en la primera página)
+     * @param limit Número máximo de alumnos a devolver
+     * @return Alumnos posteriores a la posición indicada, en el orden solicitado
+     */
+    List<Alumno> findKeysetPage(AlumnoSortKey sortKey, boolean ascending, Object afterKey, Long afterId, int limit);
+
+    /**
+     * Obtiene alumnos leyendo solo las columnas de los campos indicados
+     * Devuelve proyecciones en lugar de entidades: no se crean entidades gestionadas
+     * ni copias para la comprobación de cambios
+     * 
+     * @param fields Campos a leer
+     * @param ids IDs de los alumnos a leer, o null para no filtrar
+     * @param sort Ordenación (puede usar campos no seleccionados)
+     * @param offset Número de filas a saltar
+     * @param limit Número máximo de filas, o 0 para no limitar
+     * @return Proyecciones de los alumnos en el orden solicitado
+     */
+    List<AlumnoView> findViews(Set<AlumnoField> fields, Collection<Long> ids, Sort sort, long offset, int limit);
+
+    /**
+     * Actualiza solo las columnas indicadas con una única sentencia UPDATE, sin leer antes el alumno
+     * Incrementa la versión y actualiza updatedAt igual que una actualización completa
+     * 
+     * @param id Identificador del alumno
+     * @param patch Campos a modificar (los nulos no se tocan)
+     * @param expectedVersion Versión esperada, o null para no comprobarla
+     * @param updatedAt Instante de la modificación
+     * @return Filas actualizadas (0 si el alumno no existe o su versión no es la esperada)
+     */
+    int patch(Long id, AlumnoPatch patch, Long expectedVersion, Instant updatedAt);
+
+    /**
+     * Igual que {@link #patch}, pero devuelve también el email que tenía el alumno
+     * Se lee en la misma sentencia que lo modifica (SELECT ... FROM OLD TABLE (UPDATE ...) de H2),
+     * así que es el que había justo antes de este cambio aunque haya escrituras concurrentes
+     * 
+     * @param id Identificador del alumno
+     * @param patch Campos a modificar (los nulos no se tocan)
+     * @param expectedVersion Versión esperada, o null para no comprobarla
+     * @param updatedAt Instante de la modificación
+     * @return Email anterior, o vacío si el alumno no existe o su versión no es la esperada
+     */
+    Optional<String> patchReturningPreviousEmail(Long id, AlumnoPatch patch, Long expectedVersion, Instant updatedAt);
+}
@@ -0,0 +1,172 @@
+package com.example.ProyectoFinal.repository;
+
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.dto.AlumnoView;
+import com.example.ProyectoFinal.entity.Alumno;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementación de las consultas personalizadas del repositorio de Alumno
+ * Spring Data la combina automáticamente con {@link AlumnoRepository}
+ */
+public class AlumnoRepositoryImpl implements AlumnoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Alumno> findKeysetPage(AlumnoSortKey sortKey, boolean ascending, Object afterKey, Long afterId,
+                                       int limit) {
+        String direction = ascending ? "asc" : "desc";
+        String comparator = ascending ? ">" : "<";
+        String property = "a." + sortKey.getProperty();
+
+        StringBuilder jpql = new StringBuilder("select a from Alumno a");
+        if (afterId != null) {
+            if (sortKey == AlumnoSortKey.ID) {
+                jpql.append(" where a.id ").append(comparator).append(" :afterId");
+            } else {
+                jpql.append(" where (").append(property).append(", a.id) ")
+                        .append(comparator).append(" (:afterKey, :afterId)");
+            }
+        }
+        if (sortKey != AlumnoSortKey.ID) {
+            jpql.append(" order by ").append(property).append(' ').append(direction).append(',');
+        } else {
+            jpql.append(" order by");
+        }
+        jpql.append(" a.id ").append(direction);
+
+        TypedQuery<Alumno> query = entityManager.createQuery(jpql.toString(), Alumno.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sortKey != AlumnoSortKey.ID) {
+                query.setParameter("afterKey", afterKey);
+            }
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<AlumnoView> findViews(Set<AlumnoField> fields, Collection<Long> ids, Sort sort, long offset,
+                                      int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<Alumno> alumno = criteria.from(Alumno.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (AlumnoField field : fields) {
+            selections.add(alumno.get(field.getProperty()).alias(field.getProperty()));
+        }
+        criteria.multiselect(selections);
+        if (ids != null) {
+            criteria.where(alumno.get("id").in(ids));
+        }
+        criteria.orderBy(QueryUtils.toOrders(sort, alumno, builder));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        if (offset > 0) {
+            query.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        List<Tuple> rows = query.getResultList();
+        List<AlumnoView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            views.add(new AlumnoView(
+                    value(row, fields, AlumnoField.ID, Long.class),
+                    value(row, fields, AlumnoField.NOMBRE, String.class),
+                    value(row, fields, AlumnoField.EMAIL, String.class),
+                    value(row, fields, AlumnoField.FECHA_REGISTRO, LocalDate.class),
+                    value(row, fields, AlumnoField.VERSION, Long.class),
+                    value(row, fields, AlumnoField.UPDATED_AT, Instant.class)));
+        }
+        return views;
+    }
+
+    @Override
+    public int patch(Long id, AlumnoPatch patch, Long expectedVersion, Instant updatedAt) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Alumno> update = builder.createCriteriaUpdate(Alumno.class);
+        Root<Alumno> alumno = update.from(Alumno.class);
+
+        if (patch.nombre() != null) {
+            update.set(alumno.<String>get("nombre"), patch.nombre());
+        }
+        if (patch.email() != null) {
+            update.set(alumno.<String>get("email"), patch.email());
+        }
+        // Una sentencia UPDATE no pasa por @Version ni @PreUpdate: se actualizan aquí
+        update.set(alumno.<Long>get("version"), builder.sum(alumno.<Long>get("version"), 1L));
+        update.set(alumno.<Instant>get("updatedAt"), updatedAt);
+
+        Predicate where = builder.equal(alumno.get("id"), id);
+        if (expectedVersion != null) {
+            where = builder.and(where, builder.equal(alumno.get("version"), expectedVersion));
+        }
+        update.where(where);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Optional<String> patchReturningPreviousEmail(Long id, AlumnoPatch patch, Long expectedVersion,
+                                                        Instant updatedAt) {
+        StringBuilder sql = new StringBuilder("select email from old table (update alumnos set ");
+        if (patch.nombre() != null) {
+            sql.append("nombre = :nombre, ");
+        }
+        if (patch.email() != null) {
+            sql.append("email = :email, ");
+        }
+        sql.append("version = version + 1, updated_at = :updatedAt where id = :id");
+        if (expectedVersion != null) {
+            sql.append(" and version = :expectedVersion");
+        }
+        sql.append(')');
+
+        // Hibernate no analiza el SQL nativo: se declara que la sentencia modifica alumnos
+        Query query = entityManager.createNativeQuery(sql.toString(), String.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Alumno.class)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id);
+        if (patch.nombre() != null) {
+            query.setParameter("nombre", patch.nombre());
+        }
+        if (patch.email() != null) {
+            query.setParameter("email", patch.email());
+        }
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        List<?> previous = query.getResultList();
+        return previous.isEmpty() ? Optional.empty() : Optional.of((String) previous.get(0));
+    }
+
+    private static <T> T value(Tuple row, Set<AlumnoField> fields, AlumnoField field, Class<T> type) {
+        return fields.contains(field) ? row.get(field.getProperty(), type) : null;
+    }
+}
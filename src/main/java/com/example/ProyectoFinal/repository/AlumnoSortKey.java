@@ -0,0 +1,64 @@
+package com.example.ProyectoFinal.repository;
+
+import com.example.ProyectoFinal.entity.Alumno;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Campos por los que se puede ordenar la paginación por cursor (keyset)
+ * Cada campo se combina con el ID como desempate, y cuenta con un índice
+ * compuesto (campo, id) en la tabla para poder posicionarse sin OFFSET
+ */
+public enum AlumnoSortKey {
+
+    ID("id", Alumno::getId, Long::valueOf),
+    NOMBRE("nombre", Alumno::getNombre, Function.identity()),
+    FECHA_REGISTRO("fechaRegistro", Alumno::getFechaRegistro, LocalDate::parse);
+
+    private final String property;
+    private final Function<Alumno, Object> extractor;
+    private final Function<String, Object> parser;
+
+    <T> AlumnoSortKey(String property, Function<Alumno, T> extractor, Function<String, T> parser) {
+        this.property = property;
+        this.extractor = extractor::apply;
+        this.parser = parser::apply;
+    }
+
+    /**
+     * Nombre de la propiedad JPA del campo de ordenación
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Obtiene el valor de ordenación de un alumno
+     */
+    public Object extract(Alumno alumno) {
+        return extractor.apply(alumno);
+    }
+
+    /**
+     * Convierte la representación textual de un valor de ordenación a su tipo
+     */
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * Obtiene el campo a partir del nombre de la propiedad (ej: fechaRegistro)
+     * 
+     * @param property Nombre de la propiedad
+     * @return Campo de ordenación, o null si no está soportado
+     */
+    public static AlumnoSortKey fromProperty(String property) {
+        for (AlumnoSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(property) || key.name().equalsIgnoreCase(property)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
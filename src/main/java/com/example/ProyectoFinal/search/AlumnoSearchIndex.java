@@ -0,0 +1,358 @@
+package com.example.ProyectoFinal.search;
+
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import com.example.ProyectoFinal.repository.AlumnoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria para la búsqueda de alumnos por nombre
+ * Cada nombre se normaliza (sin tildes, en minúsculas) y se divide en palabras;
+ * el índice asocia cada palabra con los IDs de los alumnos que la contienen.
+ * Las palabras se guardan ordenadas, por lo que la búsqueda por prefijo (typeahead)
+ * es una consulta de rango sin recorrer la tabla
+ * 
+ * Se reconstruye desde la base de datos al arrancar la aplicación y se mantiene
+ * sincronizado con los eventos de cambio publicados por AlumnoService tras cada commit
+ */
+@Component
+public class AlumnoSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoSearchIndex.class);
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::score).reversed()
+            .thenComparingInt((Match m) -> m.document().tokens.length)
+            .thenComparing((Match m) -> m.document().normalized)
+            .thenComparingLong((Match m) -> m.document().id);
+
+    private final AlumnoRepository alumnoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData data = new IndexData();
+    private List<AlumnoChangeEvent> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    @Autowired
+    public AlumnoSearchIndex(AlumnoRepository alumnoRepository, TransactionTemplate transactionTemplate) {
+        this.alumnoRepository = alumnoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Indica si el índice ya se ha cargado desde la base de datos
+     * Mientras no esté listo, las búsquedas deben resolverse contra la base de datos
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Número de alumnos indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca alumnos cuyo nombre contenga todas las palabras de la consulta
+     * Cada palabra de la consulta coincide con palabras del nombre que empiecen por ella
+     * Los resultados se ordenan por relevancia: coincidencias exactas antes que por prefijo,
+     * palabras en la misma posición antes que en otra, y nombres más cortos primero
+     * 
+     * @param query Texto de búsqueda
+     * @param offset Número de resultados a saltar
+     * @param limit Número máximo de resultados a devolver
+     * @return Página de resultados y número total de coincidencias
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        String[] queryTokens = SearchNormalizer.tokenize(query).stream().distinct().toArray(String[]::new);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        int capacity = offset + limit;
+        PriorityQueue<Match> top = new PriorityQueue<>(RANKING.reversed());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            // Se recorren solo las palabras de la consulta con menos candidatos
+            NavigableMap<String, Postings> driver = null;
+            long driverSize = Long.MAX_VALUE;
+            for (String token : queryTokens) {
+                NavigableMap<String, Postings> range = prefixRange(token);
+                long rangeSize = 0;
+                for (Postings postings : range.values()) {
+                    rangeSize += postings.size;
+                }
+                if (rangeSize < driverSize) {
+                    driver = range;
+                    driverSize = rangeSize;
+                }
+            }
+            if (driverSize == 0) {
+                return new SearchHits(List.of(), 0);
+            }
+
+            Set<Long> visited = new HashSet<>();
+            for (Postings postings : driver.values()) {
+                for (int i = 0; i < postings.size; i++) {
+                    long id = postings.ids[i];
+                    if (!visited.add(id)) {
+                        continue;
+                    }
+                    Document document = data.documents.get(id);
+                    int score = score(document, queryTokens);
+                    if (score == 0) {
+                        continue;
+                    }
+                    total++;
+                    Match match = new Match(document, score);
+                    if (top.size() < capacity) {
+                        top.add(match);
+                    } else if (RANKING.compare(match, top.peek()) < 0) {
+                        top.poll();
+                        top.add(match);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<AlumnoNombre> hits = new ArrayList<>();
+        for (int i = offset; i < ranked.size(); i++) {
+            Document document = ranked.get(i).document();
+            hits.add(new AlumnoNombre(document.id, document.nombre));
+        }
+        return new SearchHits(hits, total);
+    }
+
+    /**
+     * Aplica al índice un cambio confirmado en la base de datos
+     * 
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(data, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Carga el índice desde la base de datos al arrancar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo solo el ID y el nombre de cada alumno
+     * Los cambios que lleguen durante la reconstrucción se aplican también al índice nuevo
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData fresh = new IndexData();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<AlumnoNombre> alumnos = alumnoRepository.streamAllNombres()) {
+                    alumnos.forEach(alumno -> fresh.put(alumno.id(), alumno.nombre()));
+                }
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (AlumnoChangeEvent event : pendingDuringRebuild) {
+                apply(fresh, event);
+            }
+            pendingDuringRebuild = null;
+            data = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de búsqueda reconstruido: {} alumnos en {} ms",
+                fresh.documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(IndexData target, AlumnoChangeEvent event) {
+        if (event.type() == AlumnoChangeType.DELETED) {
+            target.remove(event.id());
+        } else if (event.current().nombre() != null) {
+            // Las actualizaciones parciales que no cambian el nombre no traen el nombre
+            target.put(event.id(), event.current().nombre());
+        }
+    }
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return data.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Calcula la relevancia de un nombre para la consulta (0 si no contiene todas las palabras)
+     */
+    private static int score(Document document, String[] queryTokens) {
+        int score = 0;
+        for (int q = 0; q < queryTokens.length; q++) {
+            int best = 0;
+            for (int i = 0; i < document.tokens.length; i++) {
+                String token = document.tokens[i];
+                int tokenScore = 0;
+                if (token.equals(queryTokens[q])) {
+                    tokenScore = 3;
+                } else if (token.startsWith(queryTokens[q])) {
+                    tokenScore = 1;
+                }
+                if (tokenScore > 0 && i == q) {
+                    tokenScore++;
+                }
+                best = Math.max(best, tokenScore);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private record Match(Document document, int score) {
+    }
+
+    /**
+     * Alumno indexado: nombre original y sus palabras normalizadas
+     */
+    private static final class Document {
+        final long id;
+        final String nombre;
+        final String normalized;
+        final String[] tokens;
+
+        Document(long id, String nombre) {
+            this.id = id;
+            this.nombre = nombre;
+            this.tokens = SearchNormalizer.tokenize(nombre).toArray(String[]::new);
+            this.normalized = String.join(" ", tokens);
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs de alumnos que contienen una palabra
+     * Se guarda como long[] para evitar un objeto Long por entrada
+     */
+    private static final class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Estructuras del índice: documentos por ID y listas de IDs por palabra
+     */
+    private static final class IndexData {
+        final Map<Long, Document> documents = new HashMap<>();
+        final TreeMap<String, Postings> postings = new TreeMap<>();
+
+        void put(long id, String nombre) {
+            remove(id);
+            Document document = new Document(id, nombre);
+            documents.put(id, document);
+            for (String token : document.tokens) {
+                postings.computeIfAbsent(token, t -> new Postings()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            Document previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String token : previous.tokens) {
+                Postings tokenPostings = postings.get(token);
+                if (tokenPostings != null) {
+                    tokenPostings.remove(id);
+                    if (tokenPostings.size == 0) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ProyectoFinal.search;
+
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+
+import java.util.List;
+
+/**
+ * Resultado de una consulta al índice de búsqueda
+ * 
+ * @param hits Alumnos de la página solicitada, ordenados por relevancia
+ * @param total Número total de alumnos que coinciden con la consulta
+ */
+public record SearchHits(List<AlumnoNombre> hits, long total) {
+}
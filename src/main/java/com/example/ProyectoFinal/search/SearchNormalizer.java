@@ -0,0 +1,60 @@
+package com.example.ProyectoFinal.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalización de texto para la búsqueda por nombre
+ * Elimina tildes y diéresis (José → jose, Muñoz → munoz, Güell → guell),
+ * pasa a minúsculas y separa el texto en palabras
+ */
+public final class SearchNormalizer {
+
+    private SearchNormalizer() {
+    }
+
+    /**
+     * Normaliza un texto: sin marcas diacríticas y en minúsculas
+     * 
+     * @param text Texto original
+     * @return Texto normalizado (cadena vacía si es null)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normaliza un texto y lo separa en palabras (secuencias de letras o dígitos)
+     * 
+     * @param text Texto original
+     * @return Palabras normalizadas, en el orden en que aparecen
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
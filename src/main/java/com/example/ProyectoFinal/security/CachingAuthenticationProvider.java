@@ -0,0 +1,111 @@
+package com.example.ProyectoFinal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Proveedor de autenticación que recuerda durante un tiempo corto las credenciales ya verificadas
+ * 
+ * HTTP Basic envía usuario y contraseña en cada petición y verificarlos con BCrypt cuesta
+ * decenas de milisegundos de CPU. Tras una verificación correcta se guarda, por usuario,
+ * un HMAC-SHA256 de la contraseña con una clave aleatoria generada al arrancar (nunca la
+ * contraseña ni su hash BCrypt). Las peticiones siguientes se comparan en tiempo constante
+ * contra ese digest; si no coincide o la entrada ha caducado se delega en el proveedor real.
+ * Los intentos fallidos no se guardan, así que siguen pagando el coste completo de BCrypt.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredential> verified;
+    private final SecretKeySpec digestKey;
+
+    /**
+     * @param delegate Proveedor que realiza la verificación real (p. ej. DaoAuthenticationProvider)
+     * @param ttl Tiempo máximo que se confía en una verificación
+     * @param maximumSize Número máximo de usuarios recordados
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, long maximumSize) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        byte[] digest = digest(username, password);
+        VerifiedCredential cached = verified.getIfPresent(username);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest)) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cached.authentication().getPrincipal(), null, cached.authentication().getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            verified.put(username, new VerifiedCredential(digest, result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Olvida la verificación de un usuario (p. ej. tras cambiar su contraseña o deshabilitarlo)
+     * 
+     * @param username Nombre de usuario
+     */
+    public void evict(String username) {
+        verified.invalidate(username);
+    }
+
+    /**
+     * Olvida todas las verificaciones
+     */
+    public void evictAll() {
+        verified.invalidateAll();
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, Authentication authentication) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ProyectoFinal.security;
+
+import com.example.ProyectoFinal.dto.TokenResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Emite tokens Bearer (JWT firmados con HMAC-SHA256) para un usuario ya autenticado
+ * El servidor los verifica localmente con la misma clave, sin consultar usuarios ni ejecutar BCrypt
+ */
+public class TokenService {
+
+    /**
+     * Emisor de los tokens (claim "iss")
+     */
+    public static final String ISSUER = "ProyectoFinal";
+
+    /**
+     * Claim con los roles del usuario (p. ej. ROLE_ADMIN)
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    private final JwtEncoder jwtEncoder;
+    private final Duration ttl;
+
+    public TokenService(JwtEncoder jwtEncoder, Duration ttl) {
+        this.jwtEncoder = jwtEncoder;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Genera un token para el usuario autenticado
+     * 
+     * @param authentication Autenticación de la petición actual
+     * @return Token y su tiempo de validez
+     */
+    public TokenResponse issue(Authentication authentication) {
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLES_CLAIM, roles)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new TokenResponse(token, "Bearer", ttl.toSeconds());
+    }
+}
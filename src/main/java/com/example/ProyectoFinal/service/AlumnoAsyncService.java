@@ -0,0 +1,151 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.exception.DeadlineExceededException;
+import com.example.ProyectoFinal.exception.ServiceOverloadedException;
+import com.example.ProyectoFinal.metrics.QueryCountingStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta consultas de alumnos fuera del hilo de la petición, con un plazo máximo
+ *
+ * Las consultas se ejecutan en un pool acotado propio (alumnos.async.pool-size hilos y una
+ * cola de alumnos.async.queue-capacity), de modo que una consulta lenta no retiene un hilo
+ * del servidor. El plazo se aplica en varios puntos:
+ * - El futuro devuelto falla con DeadlineExceededException al vencer el plazo, así que la
+ *   respuesta nunca tarda más de lo pedido
+ * - Al vencer se cancela la sentencia JDBC en curso (Session.cancelQuery, que Hibernate
+ *   permite llamar desde otro hilo)
+ * - Si el plazo vence mientras la consulta espera en la cola, no llega a ejecutarse
+ * - La consulta se ejecuta en una transacción de solo lectura cuyo timeout es el plazo, de
+ *   modo que Spring no lanza más sentencias una vez vencido (y las que lanza llevan query
+ *   timeout de JDBC, aunque en segundos enteros)
+ *
+ * El pool no se registra como bean para que Spring Boot mantenga su ejecutor por defecto
+ * (lo usan, por ejemplo, las exportaciones en streaming)
+ */
+@Service
+public class AlumnoAsyncService implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Duration maxTimeout;
+
+    @Autowired
+    public AlumnoAsyncService(PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry, QueryCountingStatementInspector statementInspector,
+                              @Value("${alumnos.async.pool-size:4}") int poolSize,
+                              @Value("${alumnos.async.queue-capacity:100}") int queueCapacity,
+                              @Value("${alumnos.async.max-timeout:30s}") Duration maxTimeout) {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("alumnos-query-");
+        // El usuario de la petición se conserva en el hilo de la consulta (réplicas: read-your-writes)
+        // y sus sentencias cuentan en alumnos.http.queries de la petición
+        executor.setTaskDecorator(task -> new DelegatingSecurityContextRunnable(statementInspector.propagate(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds((int) maxTimeout.toSeconds());
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "alumnos.query", List.of())
+                .bindTo(meterRegistry);
+
+        this.transactionManager = transactionManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Ejecuta una consulta en el pool con el plazo indicado
+     *
+     * @param timeout Plazo máximo desde ahora (se limita a alumnos.async.max-timeout)
+     * @param query Consulta a ejecutar; puede llamar a métodos transaccionales de AlumnoService
+     * @return Futuro con el resultado, o que falla con DeadlineExceededException al vencer el plazo
+     * @throws ServiceOverloadedException si el pool y su cola están llenos
+     */
+    public <T> CompletableFuture<T> query(Duration timeout, Supplier<T> query) {
+        Duration effective = timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+        long deadline = System.nanoTime() + effective.toNanos();
+        AtomicReference<Session> running = new AtomicReference<>();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> runBefore(deadline, running, query), executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceOverloadedException("El pool de consultas está lleno", effective);
+        }
+        return result
+                .orTimeout(effective.toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        cancel(running.get());
+                        throw new DeadlineExceededException("La consulta no terminó en el plazo de "
+                                + effective.toMillis() + " ms");
+                    }
+                    throw ex instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    private <T> T runBefore(long deadline, AtomicReference<Session> running, Supplier<T> query) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("El plazo venció antes de empezar la consulta");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+        try {
+            return transaction.execute(status -> {
+                running.set(EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                        .unwrap(Session.class));
+                try {
+                    return query.get();
+                } finally {
+                    running.set(null);
+                }
+            });
+        } catch (QueryTimeoutException | TransactionTimedOutException ex) {
+            throw new DeadlineExceededException("Consulta cancelada al vencer el plazo", ex);
+        }
+    }
+
+    private static void cancel(Session session) {
+        if (session != null) {
+            try {
+                session.cancelQuery();
+            } catch (RuntimeException ex) {
+                // La consulta terminó mientras tanto
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.dto.BulkImportResult;
+import com.example.ProyectoFinal.dto.BulkRowResult;
+import com.example.ProyectoFinal.dto.BulkRowStatus;
+import com.example.ProyectoFinal.entity.Alumno;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio de importación masiva de alumnos (alta o actualización por email)
+ * Lee las filas de forma incremental, las valida una a una y las escribe en bloques,
+ * cada uno en su propia transacción con INSERT/UPDATE agrupados en lotes JDBC
+ * Si un bloque falla, se reintenta fila a fila para identificar las filas rechazadas
+ */
+@Service
+public class AlumnoBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoBulkService.class);
+
+    private final AlumnoService alumnoService;
+    private final Validator validator;
+
+    /**
+     * Número de filas escritas por transacción
+     */
+    @Value("${alumnos.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public AlumnoBulkService(AlumnoService alumnoService, Validator validator) {
+        this.alumnoService = alumnoService;
+        this.validator = validator;
+    }
+
+    /**
+     * Importa los alumnos recibidos, creando los nuevos y actualizando los que
+     * ya existen con el mismo email
+     * 
+     * @param alumnos Filas a importar, en orden (se consumen de forma incremental)
+     * @return Resumen de la importación con el resultado de cada fila
+     */
+    public BulkImportResult importAlumnos(Iterator<Alumno> alumnos) {
+        long start = System.nanoTime();
+        List<BulkRowResult> results = new ArrayList<>();
+        Map<Integer, Alumno> chunk = new LinkedHashMap<>();
+        int index = 0;
+        while (alumnos.hasNext()) {
+            Alumno alumno = alumnos.next();
+            List<String> errors = validate(alumno);
+            if (errors.isEmpty()) {
+                chunk.put(index, alumno);
+            } else {
+                results.add(BulkRowResult.rejected(index, BulkRowStatus.INVALID,
+                        alumno != null ? alumno.getEmail() : null, errors));
+            }
+            index++;
+            if (chunk.size() >= chunkSize) {
+                results.addAll(writeChunk(chunk));
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(chunk));
+        }
+
+        results.sort(Comparator.comparingInt(BulkRowResult::index));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        BulkImportResult result = BulkImportResult.of(results, elapsedMs);
+        log.info("Importación masiva: {} filas ({} creadas, {} actualizadas, {} inválidas, {} fallidas) en {} ms",
+                result.total(), result.created(), result.updated(), result.invalid(), result.failed(), elapsedMs);
+        return result;
+    }
+
+    private List<String> validate(Alumno alumno) {
+        if (alumno == null) {
+            return List.of("La fila está vacía");
+        }
+        Set<ConstraintViolation<Alumno>> violations = validator.validate(alumno);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<Alumno> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    /**
+     * Escribe un bloque en una transacción; si falla, reintenta cada fila por separado
+     */
+    private List<BulkRowResult> writeChunk(Map<Integer, Alumno> chunk) {
+        try {
+            return alumnoService.upsertAlumnos(chunk);
+        } catch (RuntimeException ex) {
+            log.warn("Bloque de {} filas rechazado, reintentando fila a fila: {}", chunk.size(),
+                    NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        }
+
+        List<BulkRowResult> results = new ArrayList<>(chunk.size());
+        for (Map.Entry<Integer, Alumno> row : chunk.entrySet()) {
+            try {
+                results.addAll(alumnoService.upsertAlumnos(Map.of(row.getKey(), row.getValue())));
+            } catch (RuntimeException ex) {
+                results.add(BulkRowResult.rejected(row.getKey(), BulkRowStatus.FAILED, row.getValue().getEmail(),
+                        List.of(NestedExceptionUtils.getMostSpecificCause(ex).getMessage())));
+            }
+        }
+        return results;
+    }
+}
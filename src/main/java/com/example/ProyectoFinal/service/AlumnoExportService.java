@@ -0,0 +1,112 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Servicio que exporta la tabla de alumnos en formatos de streaming (NDJSON y CSV)
+ * Cada alumno se serializa y escribe en la salida en cuanto se lee del cursor,
+ * por lo que el consumo de memoria es constante independientemente del número de filas
+ */
+@Service
+public class AlumnoExportService {
+
+    private static final String CSV_HEADER = "id,nombre,email,fechaRegistro";
+
+    private final AlumnoService alumnoService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AlumnoExportService(AlumnoService alumnoService, ObjectMapper objectMapper) {
+        this.alumnoService = alumnoService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe todos los alumnos en la salida indicada con el formato solicitado
+     * 
+     * @param format Formato de exportación
+     * @param out Flujo de salida (no se cierra al terminar)
+     * @return Número de alumnos exportados
+     * @throws IOException si falla la escritura en la salida
+     */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        try {
+            return switch (format) {
+                case NDJSON -> exportNdjson(out);
+                case CSV -> exportCsv(out);
+            };
+        } catch (UncheckedIOException ex) {
+            // Las escrituras ocurren dentro del recorrido del cursor, que no admite IOException
+            throw ex.getCause();
+        }
+    }
+
+    private long exportNdjson(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Cada objeto va en su propia línea: sin el separador por defecto entre valores raíz
+        generator.setRootValueSeparator(null);
+        long count = alumnoService.forEachAlumno(alumno -> {
+            try {
+                objectMapper.writeValue(generator, alumno);
+                generator.writeRaw('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        generator.close();
+        return count;
+    }
+
+    private long exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = alumnoService.forEachAlumno(alumno -> {
+            try {
+                writeCsvRow(writer, alumno);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Alumno alumno) throws IOException {
+        writer.write(String.valueOf(alumno.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(alumno.getNombre()));
+        writer.write(',');
+        writer.write(escapeCsv(alumno.getEmail()));
+        writer.write(',');
+        writer.write(alumno.getFechaRegistro() != null ? alumno.getFechaRegistro().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Escapa un valor CSV según RFC 4180 (comillas dobles si contiene separadores o comillas)
+     */
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,29 +1,102 @@
 package com.example.ProyectoFinal.service;
 
+import com.example.ProyectoFinal.columnar.AlumnoColumnStore;
+import com.example.ProyectoFinal.config.CacheConfig;
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.dto.AlumnoVersion;
+import com.example.ProyectoFinal.dto.AlumnoView;
+import com.example.ProyectoFinal.dto.BulkRowResult;
+import com.example.ProyectoFinal.dto.BulkRowStatus;
+import com.example.ProyectoFinal.dto.CursorPage;
 import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import com.example.ProyectoFinal.exception.ConflictException;
+import com.example.ProyectoFinal.exception.PreconditionFailedException;
 import com.example.ProyectoFinal.exception.ResourceNotFoundException;
+import com.example.ProyectoFinal.replica.AlumnoReplicator;
+import com.example.ProyectoFinal.replica.ReadWriteRoutingDataSource;
+import com.example.ProyectoFinal.repository.AlumnoField;
 import com.example.ProyectoFinal.repository.AlumnoRepository;
+import com.example.ProyectoFinal.repository.AlumnoSortKey;
+import com.example.ProyectoFinal.search.AlumnoSearchIndex;
+import com.example.ProyectoFinal.search.SearchHits;
+import com.example.ProyectoFinal.uniqueness.EmailUniquenessFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio que contiene la lógica de negocio para gestionar Alumnos
  * Actúa como intermediario entre el controlador y el repositorio
+ * Publica un AlumnoChangeEvent por cada alta, modificación o baja
+ * 
+ * Las lecturas usan transacciones de solo lectura: Hibernate carga las entidades en modo
+ * read-only (sin copia para la comprobación de cambios) y no hace flush al terminar.
+ * Las variantes con campos seleccionados leen proyecciones en lugar de entidades
+ * 
+ * Si la copia en columnas está activada (AlumnoColumnStore), las lecturas por ID, el listado
+ * completo y las páginas y cursores ordenados por ID se sirven desde ella
  */
 @Service
 @Transactional
 public class AlumnoService {
 
     private final AlumnoRepository alumnoRepository;
+    private final AlumnoSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailUniquenessFilter emailFilter;
+    private final AlumnoColumnStore columnStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Número de filas tras el cual se vacía el contexto de persistencia al recorrer la tabla
+     */
+    @Value("${alumnos.export.chunk-size:500}")
+    private int exportChunkSize;
 
     @Autowired
-    public AlumnoService(AlumnoRepository alumnoRepository) {
+    public AlumnoService(AlumnoRepository alumnoRepository, AlumnoSearchIndex searchIndex,
+                         ApplicationEventPublisher eventPublisher, EmailUniquenessFilter emailFilter,
+                         Optional<AlumnoColumnStore> columnStore) {
         this.alumnoRepository = alumnoRepository;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.emailFilter = emailFilter;
+        this.columnStore = columnStore.orElse(null);
     }
 
     /**
@@ -31,42 +104,275 @@ public class AlumnoService {
      * 
      * @return Lista completa de alumnos
      */
+    @Transactional(readOnly = true)
     public List<Alumno> getAllAlumnos() {
+        if (columnStoreReady()) {
+            return columnStore.findAll();
+        }
         return alumnoRepository.findAll();
     }
 
+    /**
+     * Obtiene todos los alumnos leyendo solo los campos indicados
+     * 
+     * @param fields Campos a leer
+     * @return Proyecciones de todos los alumnos, ordenadas por ID
+     */
+    @Transactional(readOnly = true)
+    public List<AlumnoView> getAllAlumnos(Set<AlumnoField> fields) {
+        return alumnoRepository.findViews(fields, null, Sort.by("id"), 0, 0);
+    }
+
+    /**
+     * Recorre todos los alumnos uno a uno sin cargarlos en memoria a la vez
+     * Usa un cursor de solo lectura y vacía el contexto de persistencia cada
+     * bloque de filas, de modo que la memoria usada no depende del tamaño de la tabla
+     * 
+     * @param action Acción a ejecutar para cada alumno (en orden de ID)
+     * @return Número de alumnos recorridos
+     */
+    @Transactional(readOnly = true)
+    public long forEachAlumno(Consumer<Alumno> action) {
+        long count = 0;
+        try (Stream<Alumno> alumnos = alumnoRepository.streamAllOrderById()) {
+            for (Alumno alumno : (Iterable<Alumno>) alumnos::iterator) {
+                action.accept(alumno);
+                if (++count % exportChunkSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Obtiene alumnos con paginación y ordenamiento
      * 
      * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
      * @return Página de alumnos según los parámetros especificados
      */
+    @Transactional(readOnly = true)
     public Page<Alumno> getAllAlumnosPaginated(Pageable pageable) {
+        if (columnStoreReady() && sortedById(pageable)) {
+            return new PageImpl<>(columnStore.findPage(pageable.getOffset(), pageable.getPageSize(),
+                    isAscending(pageable.getSort())), pageable, columnStore.count());
+        }
         return alumnoRepository.findAll(pageable);
     }
 
+    /**
+     * Obtiene alumnos con paginación y ordenamiento leyendo solo los campos indicados
+     * El total solo se cuenta si la página no lo permite deducir
+     * 
+     * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
+     * @param fields Campos a leer
+     * @return Página de proyecciones
+     */
+    @Transactional(readOnly = true)
+    public Page<AlumnoView> getAllAlumnosPaginated(Pageable pageable, Set<AlumnoField> fields) {
+        List<AlumnoView> views = alumnoRepository.findViews(fields, null, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(views, pageable, alumnoRepository::count);
+    }
+
+    /**
+     * Obtiene alumnos con paginación sin calcular el total (sin COUNT)
+     * 
+     * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
+     * @return Slice de alumnos según los parámetros especificados
+     */
+    @Transactional(readOnly = true)
+    public Slice<Alumno> getAlumnosSlice(Pageable pageable) {
+        if (columnStoreReady() && sortedById(pageable)) {
+            List<Alumno> alumnos = columnStore.findPage(pageable.getOffset(), pageable.getPageSize() + 1,
+                    isAscending(pageable.getSort()));
+            boolean hasNext = alumnos.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? alumnos.subList(0, pageable.getPageSize()) : alumnos, pageable, hasNext);
+        }
+        return alumnoRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Obtiene alumnos con paginación sin total leyendo solo los campos indicados
+     * 
+     * @param pageable Configuración de paginación (página, tamaño, ordenamiento)
+     * @param fields Campos a leer
+     * @return Slice de proyecciones
+     */
+    @Transactional(readOnly = true)
+    public Slice<AlumnoView> getAlumnosSlice(Pageable pageable, Set<AlumnoField> fields) {
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<AlumnoView> views = alumnoRepository.findViews(fields, null, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = views.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? views.subList(0, pageable.getPageSize()) : views, pageable, hasNext);
+    }
+
+    /**
+     * Obtiene una página de alumnos mediante paginación por cursor (keyset)
+     * El coste de cada página es constante, independientemente de lo avanzada que esté
+     * Si se recibe un cursor, el orden se toma de él e ignora los parámetros de orden
+     * 
+     * @param sortKey Campo de ordenación para la primera página
+     * @param ascending Dirección de ordenación para la primera página
+     * @param cursor Token de continuación devuelto en la página anterior (null para la primera)
+     * @param size Tamaño de página
+     * @return Página de alumnos con el cursor de la siguiente página
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Alumno> getAlumnosByCursor(AlumnoSortKey sortKey, boolean ascending, String cursor, int size) {
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(cursor) : null;
+        if (position != null) {
+            sortKey = position.sortKey();
+            ascending = position.ascending();
+        }
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<Alumno> alumnos = columnStoreReady() && sortKey == AlumnoSortKey.ID
+                ? columnStore.findAfter(position != null ? position.lastId() : null, ascending, size + 1)
+                : alumnoRepository.findKeysetPage(sortKey, ascending,
+                        position != null ? position.lastKey() : null,
+                        position != null ? position.lastId() : null,
+                        size + 1);
+
+        boolean hasNext = alumnos.size() > size;
+        if (hasNext) {
+            alumnos = alumnos.subList(0, size);
+        }
+        String nextCursor = hasNext
+                ? KeysetCursor.after(alumnos.get(alumnos.size() - 1), sortKey, ascending).encode()
+                : null;
+        return new CursorPage<>(alumnos, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Obtiene la versión y la fecha de modificación de un alumno sin cargar la entidad
+     * 
+     * @param id Identificador único del alumno
+     * @return Versión actual del alumno
+     * @throws ResourceNotFoundException si el alumno no existe
+     */
+    @Transactional(readOnly = true)
+    public AlumnoVersion getAlumnoVersion(Long id) {
+        if (columnStoreReady()) {
+            return Optional.ofNullable(columnStore.findVersionById(id))
+                    .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado con ID: " + id));
+        }
+        return alumnoRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Alumno no encontrado con ID: " + id));
+    }
+
     /**
      * Busca un alumno por su ID
+     * El resultado se guarda en la caché de alumnos, que se invalida tras cada
+     * modificación o eliminación (ver AlumnoCacheInvalidator). La carga es sincronizada
+     * (sync = true): una invalidación que llega mientras se carga el alumno espera a que termine
+     * y descarta el valor cargado, que puede ser anterior a la modificación
+     * Las llamadas internas desde updateAlumno y deleteAlumno no pasan por la caché ni por la
+     * copia en columnas: las escrituras siempre parten de la entidad leída de la base de datos
+     * Con réplicas, el alumno se lee siempre de la principal: una réplica que aún no ha aplicado
+     * el cambio dejaría en la caché la versión anterior después de la invalidación
      * 
      * @param id Identificador único del alumno
      * @return Alumno encontrado
      * @throws ResourceNotFoundException si el alumno no existe
      */
+    @Cacheable(cacheNames = CacheConfig.ALUMNOS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public Alumno getAlumnoById(Long id) {
-        return alumnoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Alumno no encontrado con ID: " + id));
+        if (columnStoreReady()) {
+            return Optional.ofNullable(columnStore.findById(id))
+                    .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado con ID: " + id));
+        }
+        return ReadWriteRoutingDataSource.readFromPrimary(() -> findAlumno(id));
     }
 
     /**
-     * Busca alumnos cuyo nombre contenga el texto especificado
-     * La búsqueda no distingue entre mayúsculas y minúsculas
+     * Busca alumnos por nombre usando el índice de búsqueda en memoria
+     * No distingue mayúsculas/minúsculas ni tildes, y cada palabra buscada
+     * coincide con palabras del nombre que empiecen por ella
+     * Los resultados se ordenan por relevancia; solo se leen de la base de datos
+     * los alumnos de la página solicitada (por clave primaria)
      * 
      * @param nombre Texto a buscar en el nombre
-     * @return Lista de alumnos que coinciden con el criterio
+     * @param page Número de página (inicia en 0)
+     * @param size Tamaño de página
+     * @return Página de alumnos que coinciden con el criterio, ordenada por relevancia
      */
-    public List<Alumno> searchAlumnosByNombre(String nombre) {
-        return alumnoRepository.findByNombreContainingIgnoreCase(nombre);
+    @Transactional(readOnly = true)
+    public Page<Alumno> searchAlumnosByNombre(String nombre, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (!searchIndex.isReady()) {
+            // El índice aún se está cargando: búsqueda directa en la base de datos
+            return alumnoRepository.findByNombreContainingIgnoreCase(nombre,
+                    pageRequest.withSort(Sort.by("nombre", "id")));
+        }
+
+        SearchHits result = searchIndex.search(nombre, (int) pageRequest.getOffset(), size);
+        List<Long> ids = result.hits().stream().map(AlumnoNombre::id).toList();
+        Map<Long, Alumno> alumnosById = alumnoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Alumno::getId, Function.identity()));
+        List<Alumno> alumnos = ids.stream()
+                .map(alumnosById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(alumnos, pageRequest, result.total());
+    }
+
+    /**
+     * Busca alumnos por nombre leyendo solo los campos indicados
+     * Igual que {@link #searchAlumnosByNombre(String, int, int)}; el ID se lee siempre
+     * para conservar el orden por relevancia, pero solo se devuelve si se ha pedido
+     * 
+     * @param nombre Texto a buscar en el nombre
+     * @param page Número de página (inicia en 0)
+     * @param size Tamaño de página
+     * @param fields Campos a leer
+     * @return Página de proyecciones ordenada por relevancia
+     */
+    @Transactional(readOnly = true)
+    public Page<AlumnoView> searchAlumnosByNombre(String nombre, int page, int size, Set<AlumnoField> fields) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (!searchIndex.isReady()) {
+            return alumnoRepository.findByNombreContainingIgnoreCase(nombre,
+                            pageRequest.withSort(Sort.by("nombre", "id")))
+                    .map(alumno -> toView(alumno, fields));
+        }
+
+        SearchHits result = searchIndex.search(nombre, (int) pageRequest.getOffset(), size);
+        List<Long> ids = result.hits().stream().map(AlumnoNombre::id).toList();
+        Set<AlumnoField> selected = EnumSet.copyOf(fields);
+        selected.add(AlumnoField.ID);
+        Map<Long, AlumnoView> viewsById = alumnoRepository.findViews(selected, ids, Sort.unsorted(), 0, 0).stream()
+                .collect(Collectors.toMap(AlumnoView::id, Function.identity()));
+        boolean withId = fields.contains(AlumnoField.ID);
+        List<AlumnoView> views = ids.stream()
+                .map(viewsById::get)
+                .filter(Objects::nonNull)
+                .map(view -> withId ? view : new AlumnoView(null, view.nombre(), view.email(),
+                        view.fechaRegistro(), view.version(), view.updatedAt()))
+                .toList();
+        return new PageImpl<>(views, pageRequest, result.total());
+    }
+
+    /**
+     * Sugiere alumnos cuyo nombre empieza por el texto indicado (typeahead)
+     * Se resuelve por completo en el índice en memoria, sin acceder a la base de datos
+     * 
+     * @param prefix Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias
+     * @return ID y nombre de los alumnos sugeridos, ordenados por relevancia
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<AlumnoNombre> suggestAlumnos(String prefix, int limit) {
+        if (!searchIndex.isReady()) {
+            return alumnoRepository.findByNombreContainingIgnoreCase(prefix,
+                            PageRequest.of(0, limit, Sort.by("nombre", "id")))
+                    .map(alumno -> new AlumnoNombre(alumno.getId(), alumno.getNombre()))
+                    .getContent();
+        }
+        return searchIndex.search(prefix, 0, limit).hits();
     }
 
     /**
@@ -75,27 +381,181 @@ public class AlumnoService {
      * 
      * @param alumno Datos del alumno a crear
      * @return Alumno creado con su ID asignado
+     * @throws ConflictException si el email ya está registrado
      */
     public Alumno createAlumno(Alumno alumno) {
-        return alumnoRepository.save(alumno);
+        checkEmailAvailable(alumno.getEmail(), null);
+        Alumno nuevoAlumno = alumnoRepository.save(alumno);
+        publish(AlumnoChangeEvent.created(nuevoAlumno));
+        return nuevoAlumno;
+    }
+
+    /**
+     * Crea o actualiza un bloque de alumnos en una única transacción, usando el email como clave
+     * Los alumnos existentes se leen con una sola consulta (email IN ...); los nuevos se
+     * insertan y los existentes se actualizan, y Hibernate agrupa ambas operaciones en
+     * lotes JDBC al confirmar la transacción
+     * Las filas se aplican en orden: si un email se repite en el bloque, la última fila gana
+     * 
+     * @param rows Alumnos ya validados, indexados por su posición en la importación
+     * @return Resultado de cada fila, en el mismo orden
+     */
+    public List<BulkRowResult> upsertAlumnos(Map<Integer, Alumno> rows) {
+        // Solo se buscan los emails que el filtro no descarta: en una carga de alumnos nuevos
+        // normalmente ninguno, y el bloque se escribe sin consultas previas
+        Set<String> emails = new LinkedHashSet<>();
+        rows.values().forEach(alumno -> {
+            if (emailFilter.mightExist(alumno.getEmail())) {
+                emails.add(alumno.getEmail());
+            }
+        });
+        Map<String, Alumno> alumnosByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (Alumno existente : alumnoRepository.findByEmailIn(emails)) {
+                alumnosByEmail.put(existente.getEmail(), existente);
+            }
+        }
+
+        List<BulkRowResult> results = new ArrayList<>(rows.size());
+        Set<Alumno> creados = new LinkedHashSet<>();
+        Map<Alumno, AlumnoSnapshot> previos = new IdentityHashMap<>();
+        for (Map.Entry<Integer, Alumno> row : rows.entrySet()) {
+            Alumno datos = row.getValue();
+            Alumno alumno = alumnosByEmail.get(datos.getEmail());
+            if (alumno == null) {
+                alumno = new Alumno(null, datos.getNombre(), datos.getEmail(), datos.getFechaRegistro());
+                emailFilter.put(alumno.getEmail());
+                entityManager.persist(alumno);
+                alumnosByEmail.put(alumno.getEmail(), alumno);
+                creados.add(alumno);
+                results.add(BulkRowResult.saved(row.getKey(), BulkRowStatus.CREATED, alumno.getId(), alumno.getEmail()));
+            } else {
+                if (!creados.contains(alumno)) {
+                    previos.putIfAbsent(alumno, AlumnoSnapshot.of(alumno));
+                }
+                alumno.setNombre(datos.getNombre());
+                // La fecha de registro no se modifica
+                results.add(BulkRowResult.saved(row.getKey(), BulkRowStatus.UPDATED, alumno.getId(), alumno.getEmail()));
+            }
+        }
+
+        creados.forEach(alumno -> publish(AlumnoChangeEvent.created(alumno)));
+        previos.forEach((alumno, previo) -> publish(AlumnoChangeEvent.updated(previo, alumno)));
+        return results;
     }
 
     /**
      * Actualiza los datos de un alumno existente
+     * Si se indica la versión esperada (If-Match) y no coincide con la actual, no se modifica nada;
+     * si otra petición modifica el alumno antes de confirmar, el bloqueo optimista (@Version) lo detecta
      * 
      * @param id Identificador del alumno a actualizar
      * @param alumnoDetails Nuevos datos del alumno
+     * @param expectedVersion Versión que el cliente leyó, o null para no comprobarla
      * @return Alumno actualizado
      * @throws ResourceNotFoundException si el alumno no existe
+     * @throws PreconditionFailedException si la versión actual no es la esperada
+     * @throws ConflictException si el nuevo email pertenece a otro alumno
      */
-    public Alumno updateAlumno(Long id, Alumno alumnoDetails) {
-        Alumno alumno = getAlumnoById(id);
+    public Alumno updateAlumno(Long id, Alumno alumnoDetails, Long expectedVersion) {
+        Alumno alumno = findAlumno(id);
+        if (expectedVersion != null && alumno.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("El alumno con ID " + id + " ha sido modificado (versión actual: "
+                    + alumno.getVersion() + ", esperada: " + expectedVersion + ")");
+        }
+        if (!alumno.getEmail().equals(alumnoDetails.getEmail())) {
+            checkEmailAvailable(alumnoDetails.getEmail(), id);
+        }
+        AlumnoSnapshot previous = AlumnoSnapshot.of(alumno);
         
         alumno.setNombre(alumnoDetails.getNombre());
         alumno.setEmail(alumnoDetails.getEmail());
         // La fecha de registro no se modifica
         
-        return alumnoRepository.save(alumno);
+        Alumno alumnoActualizado = alumnoRepository.save(alumno);
+        publish(AlumnoChangeEvent.updated(previous, alumnoActualizado));
+        return alumnoActualizado;
+    }
+
+    /**
+     * Modifica solo los campos indicados de un alumno con una única sentencia UPDATE
+     * No lee el alumno antes: la existencia y la versión se comprueban con el número de filas
+     * actualizadas. Solo si se indicó la versión esperada y no se actualizó ninguna fila se
+     * consulta la versión, para distinguir entre alumno inexistente y versión distinta.
+     * Si el email cambia, la misma sentencia devuelve el email anterior, que viaja en el evento
+     * 
+     * @param id Identificador del alumno
+     * @param patch Campos a modificar (ya validados)
+     * @param expectedVersion Versión que el cliente leyó, o null para no comprobarla
+     * @throws ResourceNotFoundException si el alumno no existe
+     * @throws PreconditionFailedException si la versión actual no es la esperada
+     * @throws ConflictException si el nuevo email pertenece a otro alumno
+     */
+    public void patchAlumno(Long id, AlumnoPatch patch, Long expectedVersion) {
+        boolean updated;
+        String previousEmail = null;
+        if (patch.email() != null) {
+            checkEmailAvailable(patch.email(), id);
+            // El email anterior (para las estadísticas por dominio) se lee en la misma sentencia
+            Optional<String> previous = alumnoRepository.patchReturningPreviousEmail(id, patch, expectedVersion,
+                    Instant.now());
+            updated = previous.isPresent();
+            previousEmail = previous.orElse(null);
+        } else {
+            updated = alumnoRepository.patch(id, patch, expectedVersion, Instant.now()) > 0;
+        }
+        if (!updated) {
+            if (expectedVersion == null) {
+                throw new ResourceNotFoundException("Alumno no encontrado con ID: " + id);
+            }
+            AlumnoVersion current = getAlumnoVersion(id);
+            throw new PreconditionFailedException("El alumno con ID " + id + " ha sido modificado (versión actual: "
+                    + current.version() + ", esperada: " + expectedVersion + ")");
+        }
+        publish(AlumnoChangeEvent.patched(id, patch, previousEmail));
+    }
+
+    /**
+     * Aplica un bloque de actualizaciones en una única transacción
+     * Los alumnos se leen con una sola consulta y Hibernate agrupa los UPDATE en lotes JDBC
+     * al confirmar. Si alguna actualización falla (alumno inexistente, versión distinta o
+     * email duplicado) se revierte el bloque completo
+     * 
+     * @param updates Actualizaciones a aplicar (como máximo una por alumno)
+     * @return Alumnos actualizados, en el mismo orden
+     * @throws ResourceNotFoundException si algún alumno no existe
+     * @throws PreconditionFailedException si la versión de algún alumno no es la esperada
+     * @throws ConflictException si algún email nuevo pertenece a otro alumno
+     */
+    public List<Alumno> updateAlumnos(List<AlumnoUpdate> updates) {
+        Map<Long, Alumno> alumnosById = alumnoRepository.findAllById(updates.stream().map(AlumnoUpdate::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Alumno::getId, Function.identity()));
+
+        List<Alumno> actualizados = new ArrayList<>(updates.size());
+        List<AlumnoChangeEvent> events = new ArrayList<>(updates.size());
+        for (AlumnoUpdate update : updates) {
+            Alumno alumno = alumnosById.get(update.id());
+            if (alumno == null) {
+                throw new ResourceNotFoundException("Alumno no encontrado con ID: " + update.id());
+            }
+            if (update.expectedVersion() != null && alumno.getVersion() != update.expectedVersion()) {
+                throw new PreconditionFailedException("El alumno con ID " + update.id()
+                        + " ha sido modificado (versión actual: " + alumno.getVersion()
+                        + ", esperada: " + update.expectedVersion() + ")");
+            }
+            if (!alumno.getEmail().equals(update.email())) {
+                checkEmailAvailable(update.email(), alumno.getId());
+            }
+            AlumnoSnapshot previous = AlumnoSnapshot.of(alumno);
+            alumno.setNombre(update.nombre());
+            alumno.setEmail(update.email());
+            actualizados.add(alumno);
+            // Se aplican en el hilo de escritura diferida: el usuario viaja con la actualización
+            events.add(AlumnoChangeEvent.updated(previous, alumno).withActor(update.actor()));
+        }
+        events.forEach(eventPublisher::publishEvent);
+        return actualizados;
     }
 
     /**
@@ -105,7 +565,75 @@ public class AlumnoService {
      * @throws ResourceNotFoundException si el alumno no existe
      */
     public void deleteAlumno(Long id) {
-        Alumno alumno = getAlumnoById(id);
+        Alumno alumno = findAlumno(id);
         alumnoRepository.delete(alumno);
+        publish(AlumnoChangeEvent.deleted(AlumnoSnapshot.of(alumno)));
+    }
+
+    /**
+     * Publica un cambio hecho por el usuario autenticado en el hilo actual
+     */
+    private void publish(AlumnoChangeEvent event) {
+        eventPublisher.publishEvent(event.withActor(AlumnoReplicator.currentClient()));
+    }
+
+    /**
+     * Comprueba que el email no pertenece a otro alumno y lo registra en el filtro de emails
+     * Solo consulta la base de datos si el filtro indica que el email puede existir
+     * Dos altas simultáneas con el mismo email pueden pasar ambas la comprobación: la
+     * restricción única de la columna rechaza la segunda al confirmar (409)
+     * 
+     * @param email Email a comprobar
+     * @param id ID del alumno que se modifica, o null en altas
+     * @throws ConflictException si el email pertenece a otro alumno
+     */
+    private void checkEmailAvailable(String email, Long id) {
+        if (emailFilter.mightExist(email)) {
+            boolean registrado = id == null
+                    ? alumnoRepository.existsByEmail(email)
+                    : alumnoRepository.existsByEmailAndIdNot(email, id);
+            if (registrado) {
+                throw new ConflictException("Ya existe un alumno con el email: " + email);
+            }
+        }
+        emailFilter.put(email);
+    }
+
+    private Alumno findAlumno(Long id) {
+        return alumnoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Alumno no encontrado con ID: " + id));
+    }
+
+    /**
+     * La copia en columnas se usa solo si está activada y cargada
+     */
+    private boolean columnStoreReady() {
+        return columnStore != null && columnStore.isReady();
+    }
+
+    /**
+     * Indica si la página está ordenada solo por ID (o sin ordenar, que en la copia es por ID)
+     */
+    private static boolean sortedById(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return false;
+        }
+        Sort sort = pageable.getSort();
+        return sort.isUnsorted() || (sort.stream().count() == 1 && "id".equals(sort.iterator().next().getProperty()));
+    }
+
+    private static boolean isAscending(Sort sort) {
+        return sort.isUnsorted() || sort.iterator().next().isAscending();
+    }
+
+    private static AlumnoView toView(Alumno alumno, Set<AlumnoField> fields) {
+        return new AlumnoView(
+                fields.contains(AlumnoField.ID) ? alumno.getId() : null,
+                fields.contains(AlumnoField.NOMBRE) ? alumno.getNombre() : null,
+                fields.contains(AlumnoField.EMAIL) ? alumno.getEmail() : null,
+                fields.contains(AlumnoField.FECHA_REGISTRO) ? alumno.getFechaRegistro() : null,
+                fields.contains(AlumnoField.VERSION) ? alumno.getVersion() : null,
+                fields.contains(AlumnoField.UPDATED_AT) ? alumno.getUpdatedAt() : null);
     }
 }
@@ -0,0 +1,21 @@
+package com.example.ProyectoFinal.service;
+
+/**
+ * Actualización pendiente de un alumno en la cola de escritura diferida
+ * 
+ * @param id Identificador del alumno
+ * @param nombre Nuevo nombre
+ * @param email Nuevo email
+ * @param expectedVersion Versión esperada (If-Match), o null para no comprobarla
+ * @param actor Usuario que pidió la actualización (lo fija AlumnoWriteBehindService al encolarla)
+ */
+public record AlumnoUpdate(Long id, String nombre, String email, Long expectedVersion, String actor) {
+
+    public AlumnoUpdate(Long id, String nombre, String email, Long expectedVersion) {
+        this(id, nombre, email, expectedVersion, null);
+    }
+
+    AlumnoUpdate withActor(String actor) {
+        return new AlumnoUpdate(id, nombre, email, expectedVersion, actor);
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.ServiceOverloadedException;
+import com.example.ProyectoFinal.replica.AlumnoReplicator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura diferida (write-behind) de las actualizaciones de alumnos
+ *
+ * Las actualizaciones se guardan en una cola acotada en memoria, agrupadas por ID, y un
+ * hilo las aplica en bloques, cada uno en una única transacción, al alcanzar el tamaño de
+ * bloque o al pasar el intervalo de escritura. Así el coste de cada commit se reparte
+ * entre muchas actualizaciones
+ *
+ * Si un alumno se actualiza varias veces sin If-Match antes de escribirse, solo se escribe la
+ * última (el resultado es el mismo que escribirlas en orden). Las actualizaciones con versión
+ * esperada no se agrupan: esperan en orden detrás de la pendiente y se escriben en bloques
+ * posteriores, de modo que cada una recibe su propio resultado (por ejemplo, 412 si otra
+ * actualización anterior cambió la versión)
+ *
+ * Cada actualización devuelve un CompletableFuture que se completa cuando su bloque se ha
+ * confirmado en la base de datos (o con el error que impidió escribirla). Si la cola está
+ * llena, quien envía espera como máximo offer-timeout y después recibe un 503. Al detener
+ * la aplicación se escriben todas las actualizaciones pendientes
+ */
+@Service
+@ConditionalOnProperty(name = "alumnos.write-behind.enabled", havingValue = "true")
+public class AlumnoWriteBehindService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoWriteBehindService.class);
+
+    private final AlumnoService alumnoService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final DistributionSummary batchSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition batchReady = lock.newCondition();
+    /** Primera actualización pendiente de cada alumno; las siguientes cuelgan de ella (Pending.next) */
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+    /** Actualizaciones en cola, incluidas las que esperan detrás de otra del mismo alumno */
+    private int queued;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public AlumnoWriteBehindService(AlumnoService alumnoService, MeterRegistry meterRegistry,
+                                    @Value("${alumnos.write-behind.queue-capacity:10000}") int capacity,
+                                    @Value("${alumnos.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${alumnos.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                    @Value("${alumnos.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                                    @Value("${alumnos.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.alumnoService = alumnoService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.batchSizes = DistributionSummary.builder("alumnos.write_behind.batch.size")
+                .description("Actualizaciones escritas por transacción")
+                .register(meterRegistry);
+        Gauge.builder("alumnos.write_behind.pending", this, AlumnoWriteBehindService::pendingCount)
+                .description("Actualizaciones pendientes de escribir")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola una actualización
+     * Si la última actualización pendiente del alumno y esta no llevan versión esperada, se
+     * sustituye (gana la última) y ambas peticiones reciben el mismo resultado; si no, se encola
+     * detrás. Una vez detenido el servicio la actualización se aplica directamente
+     * El usuario autenticado se guarda con la actualización: el hilo de escritura no lo tiene y
+     * las réplicas lo necesitan para que lea lo que acaba de escribir
+     *
+     * @param update Actualización a escribir
+     * @return Futuro que se completa con el alumno actualizado cuando se confirma su bloque
+     * @throws ServiceOverloadedException si la cola sigue llena tras offer-timeout
+     */
+    public CompletableFuture<Alumno> submit(AlumnoUpdate update) {
+        if (update.actor() == null) {
+            update = update.withActor(AlumnoReplicator.currentClient());
+        }
+        CompletableFuture<Alumno> result = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (running) {
+                if (coalesce(update, result)) {
+                    return result;
+                }
+                long nanos = offerTimeout.toNanos();
+                while (queued >= capacity && running) {
+                    if (nanos <= 0) {
+                        throw new ServiceOverloadedException("La cola de escritura está llena ("
+                                + capacity + " actualizaciones pendientes)", flushInterval);
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            }
+            if (running) {
+                // Mientras se esperaba sitio pudo llegar otra actualización del mismo alumno
+                if (!coalesce(update, result)) {
+                    enqueue(new Pending(update, result));
+                }
+                return result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Petición interrumpida esperando sitio en la cola de escritura",
+                    flushInterval);
+        } finally {
+            lock.unlock();
+        }
+        flush(List.of(new Pending(update, result)));
+        return result;
+    }
+
+    /**
+     * Número de actualizaciones pendientes (las agrupadas cuentan como una)
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sustituye la última actualización pendiente del alumno si ninguna de las dos comprueba la versión
+     * y las pidió el mismo usuario (el evento del cambio lleva un único usuario)
+     * Debe llamarse con el lock adquirido
+     *
+     * @return true si la actualización se agrupó con la pendiente
+     */
+    private boolean coalesce(AlumnoUpdate update, CompletableFuture<Alumno> result) {
+        Pending tail = pending.get(update.id());
+        if (tail == null || update.expectedVersion() != null) {
+            return false;
+        }
+        while (tail.next != null) {
+            tail = tail.next;
+        }
+        if (tail.update.expectedVersion() != null || !Objects.equals(tail.update.actor(), update.actor())) {
+            return false;
+        }
+        tail.update = update;
+        tail.waiters.add(result);
+        return true;
+    }
+
+    /**
+     * Añade la actualización al final de las pendientes de su alumno
+     * Debe llamarse con el lock adquirido
+     */
+    private void enqueue(Pending item) {
+        Pending tail = pending.get(item.update.id());
+        if (tail == null) {
+            pending.put(item.update.id(), item);
+        } else {
+            while (tail.next != null) {
+                tail = tail.next;
+            }
+            tail.next = item;
+        }
+        queued++;
+        if (pending.size() >= batchSize) {
+            batchReady.signal();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "alumnos-write-behind");
+        flusher.start();
+        log.info("Escritura diferida activada: bloques de {} cada {} ms, cola de {} alumnos",
+                batchSize, flushInterval.toMillis(), capacity);
+    }
+
+    /**
+     * Deja de aceptar actualizaciones en la cola y espera a que se escriban las pendientes
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int lost = pendingCount();
+        if (lost > 0) {
+            log.error("Escritura diferida detenida con {} actualizaciones sin escribir", lost);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Se detiene después del servidor web, cuando ya no llegan nuevas peticiones,
+     * y antes de cerrar el pool de conexiones
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<Pending> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Espera a que haya un bloque completo o pase el intervalo de escritura y extrae
+     * como máximo batch-size actualizaciones, en orden de llegada y una por alumno. La siguiente
+     * actualización de cada alumno extraído pasa al final de la cola: se escribe en un bloque
+     * posterior, después de confirmar (o rechazar) la anterior
+     *
+     * @return Bloque a escribir, o null si el servicio está detenido y no queda nada pendiente
+     */
+    private List<Pending> takeBatch() {
+        lock.lock();
+        try {
+            if (running && pending.size() < batchSize) {
+                batchReady.await(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (!running && pending.isEmpty()) {
+                return null;
+            }
+            List<Pending> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            List<Pending> successors = new ArrayList<>();
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                Pending item = iterator.next();
+                iterator.remove();
+                batch.add(item);
+                if (item.next != null) {
+                    successors.add(item.next);
+                    item.next = null;
+                }
+            }
+            successors.forEach(next -> pending.put(next.update.id(), next));
+            queued -= batch.size();
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Escribe un bloque en una transacción; si falla, reintenta cada actualización por separado
+     * para que un error (alumno inexistente, versión, email duplicado) solo afecte a la suya
+     */
+    private void flush(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<Alumno> alumnos = alumnoService.updateAlumnos(batch.stream().map(p -> p.update).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(alumnos.get(i));
+            }
+            return;
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).fail(ex);
+                return;
+            }
+            log.warn("Fallo al escribir un bloque de {} actualizaciones, se reintentan una a una: {}",
+                    batch.size(), ex.getMessage());
+        }
+        for (Pending item : batch) {
+            try {
+                item.complete(alumnoService.updateAlumnos(List.of(item.update)).get(0));
+            } catch (RuntimeException ex) {
+                item.fail(ex);
+            }
+        }
+    }
+
+    /**
+     * Actualización pendiente de un alumno y las peticiones que esperan su resultado
+     */
+    private static final class Pending {
+
+        private AlumnoUpdate update;
+        private final List<CompletableFuture<Alumno>> waiters = new ArrayList<>(1);
+        /** Siguiente actualización del mismo alumno, que no se pudo agrupar con esta */
+        private Pending next;
+
+        private Pending(AlumnoUpdate update, CompletableFuture<Alumno> waiter) {
+            this.update = update;
+            this.waiters.add(waiter);
+        }
+
+        private void complete(Alumno alumno) {
+            waiters.forEach(waiter -> waiter.complete(alumno));
+        }
+
+        private void fail(Throwable ex) {
+            waiters.forEach(waiter -> waiter.completeExceptionally(ex));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos disponibles para la exportación de alumnos
+ * Ambos formatos se escriben fila a fila, sin construir la respuesta completa en memoria
+ */
+public enum ExportFormat {
+
+    /**
+     * JSON delimitado por saltos de línea: un objeto JSON por alumno
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /**
+     * Valores separados por comas con fila de cabecera
+     */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Obtiene el formato a partir de su nombre (no distingue mayúsculas/minúsculas)
+     * 
+     * @param value Nombre del formato (ndjson o csv)
+     * @return Formato correspondiente
+     * @throws BadRequestException si el formato no está soportado
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Formato de exportación no soportado: " + value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.BadRequestException;
+import com.example.ProyectoFinal.repository.AlumnoSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de continuación para la paginación por cursor (keyset)
+ * Guarda el orden solicitado y la clave (campo de ordenación, id) del último alumno devuelto
+ * Se transmite al cliente como un token opaco en Base64 URL-safe
+ * 
+ * @param sortKey Campo de ordenación
+ * @param ascending true si el orden es ascendente
+ * @param lastKey Valor del campo de ordenación del último alumno devuelto
+ * @param lastId ID del último alumno devuelto
+ */
+public record KeysetCursor(AlumnoSortKey sortKey, boolean ascending, Object lastKey, Long lastId) {
+
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Crea el cursor que apunta justo después del alumno indicado
+     */
+    public static KeysetCursor after(Alumno alumno, AlumnoSortKey sortKey, boolean ascending) {
+        return new KeysetCursor(sortKey, ascending, sortKey.extract(alumno), alumno.getId());
+    }
+
+    /**
+     * Codifica el cursor como token opaco
+     * 
+     * @return Token en Base64 URL-safe sin relleno
+     */
+    public String encode() {
+        // El valor de ordenación va al final porque puede contener el separador
+        String raw = VERSION + SEPARATOR + sortKey.name() + SEPARATOR + (ascending ? "asc" : "desc")
+                + SEPARATOR + lastId + SEPARATOR + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}
+     * 
+     * @param token Token recibido del cliente
+     * @return Cursor decodificado
+     * @throws BadRequestException si el token no es válido
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+            AlumnoSortKey sortKey = AlumnoSortKey.valueOf(parts[1]);
+            boolean ascending = switch (parts[2]) {
+                case "asc" -> true;
+                case "desc" -> false;
+                default -> throw new BadRequestException("Cursor de paginación inválido");
+            };
+            Long lastId = Long.valueOf(parts[3]);
+            return new KeysetCursor(sortKey, ascending, sortKey.parse(parts[4]), lastId);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Cursor de paginación inválido", ex);
+        }
+    }
+}
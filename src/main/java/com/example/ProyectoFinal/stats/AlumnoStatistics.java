@@ -0,0 +1,193 @@
+package com.example.ProyectoFinal.stats;
+
+import com.example.ProyectoFinal.dto.AlumnoStats;
+import com.example.ProyectoFinal.dto.EmailDomainCount;
+import com.example.ProyectoFinal.dto.FechaRegistroCount;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import com.example.ProyectoFinal.repository.AlumnoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de alumnos por fecha de registro (por día y por mes) y por dominio de email
+ *
+ * Se cargan desde la base de datos con dos GROUP BY al arrancar, antes de que el servidor
+ * acepte peticiones (así ningún cambio se cuenta dos veces), y después se mantienen con los
+ * eventos de cambio confirmados: +1 al crear, -1 al eliminar y, si cambia el email, se pasa
+ * de un dominio a otro (la fecha de registro no cambia nunca). Consultar un rango cuesta
+ * O(periodos con alumnos), sin tocar la base de datos
+ */
+@Component
+public class AlumnoStatistics implements SmartInitializingSingleton {
+
+    public enum Granularity { DAY, MONTH }
+
+    private static final Logger log = LoggerFactory.getLogger(AlumnoStatistics.class);
+
+    private final AlumnoRepository alumnoRepository;
+    private final ConcurrentSkipListMap<LocalDate, Long> daily = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<YearMonth, Long> monthly = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> domains = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    @Autowired
+    public AlumnoStatistics(AlumnoRepository alumnoRepository) {
+        this.alumnoRepository = alumnoRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Vuelve a cargar los contadores desde la base de datos
+     * No debe ejecutarse mientras se confirman cambios (se contarían dos veces o ninguna)
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<FechaRegistroCount> fechas = alumnoRepository.countByFechaRegistro();
+        List<EmailDomainCount> dominios = alumnoRepository.countByEmailDomain();
+        daily.clear();
+        monthly.clear();
+        domains.clear();
+        total.reset();
+        for (FechaRegistroCount fecha : fechas) {
+            add(fecha.fechaRegistro(), fecha.total());
+        }
+        for (EmailDomainCount dominio : dominios) {
+            domains.merge(dominio.domain(), dominio.total(), AlumnoStatistics::sum);
+        }
+        log.info("Estadísticas de registro cargadas: {} alumnos, {} fechas, {} dominios en {} ms",
+                total.sum(), daily.size(), domains.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aplica a los contadores un cambio confirmado en la base de datos
+     *
+     * @param event Evento de cambio publicado por AlumnoService
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlumnoChange(AlumnoChangeEvent event) {
+        AlumnoSnapshot current = event.current();
+        AlumnoSnapshot previous = event.previous();
+        if (event.type() == AlumnoChangeType.CREATED) {
+            add(current.fechaRegistro(), 1);
+            addDomain(current.email(), 1);
+        } else if (event.type() == AlumnoChangeType.DELETED) {
+            add(previous.fechaRegistro(), -1);
+            addDomain(previous.email(), -1);
+        } else if (previous != null && current.email() != null && !previous.email().equals(current.email())) {
+            addDomain(previous.email(), -1);
+            addDomain(current.email(), 1);
+        }
+    }
+
+    /**
+     * Estadísticas de un rango de fechas
+     *
+     * @param from Primer día (incluido), o null para empezar en el primer registro
+     * @param to Último día (incluido), o null para terminar en el último registro
+     * @param granularity Tamaño de los periodos
+     * @param topDomains Número máximo de dominios a devolver
+     * @return Totales, alumnos por periodo y dominios con más alumnos
+     */
+    public AlumnoStats query(LocalDate from, LocalDate to, Granularity granularity, int topDomains) {
+        if (from == null && !daily.isEmpty()) {
+            from = daily.firstKey();
+        }
+        if (to == null && !daily.isEmpty()) {
+            to = daily.lastKey();
+        }
+        List<AlumnoStats.Bucket> buckets = new ArrayList<>();
+        long count = 0;
+        if (from != null && to != null && !from.isAfter(to)) {
+            if (granularity == Granularity.DAY) {
+                for (Map.Entry<LocalDate, Long> entry : daily.subMap(from, true, to, true).entrySet()) {
+                    count += addBucket(buckets, entry.getKey().toString(), entry.getValue());
+                }
+            } else {
+                YearMonth first = YearMonth.from(from);
+                YearMonth last = YearMonth.from(to);
+                for (Map.Entry<YearMonth, Long> entry : monthly.subMap(first, true, last, true).entrySet()) {
+                    YearMonth month = entry.getKey();
+                    LocalDate start = month.atDay(1).isBefore(from) ? from : month.atDay(1);
+                    LocalDate end = month.atEndOfMonth().isAfter(to) ? to : month.atEndOfMonth();
+                    // Los meses que el rango cubre solo en parte se suman día a día
+                    long monthCount = start.getDayOfMonth() == 1 && end.equals(month.atEndOfMonth())
+                            ? entry.getValue()
+                            : sumDaily(start, end);
+                    count += addBucket(buckets, month.toString(), monthCount);
+                }
+            }
+        }
+        List<EmailDomainCount> topDomainCounts = domains.entrySet().stream()
+                .map(entry -> new EmailDomainCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(EmailDomainCount::total).reversed()
+                        .thenComparing(EmailDomainCount::domain))
+                .limit(topDomains)
+                .toList();
+        return new AlumnoStats(from, to, granularity.name().toLowerCase(Locale.ROOT), total.sum(), count,
+                buckets, topDomainCounts);
+    }
+
+    private void add(LocalDate fecha, long delta) {
+        daily.merge(fecha, delta, AlumnoStatistics::sum);
+        monthly.merge(YearMonth.from(fecha), delta, AlumnoStatistics::sum);
+        total.add(delta);
+    }
+
+    private void addDomain(String email, long delta) {
+        domains.merge(domain(email), delta, AlumnoStatistics::sum);
+    }
+
+    /**
+     * Suma de contadores; un contador que queda a 0 se elimina (merge con null)
+     */
+    private static Long sum(Long current, Long delta) {
+        long result = current + delta;
+        return result != 0 ? result : null;
+    }
+
+    private long sumDaily(LocalDate from, LocalDate to) {
+        long sum = 0;
+        for (long count : daily.subMap(from, true, to, true).values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Añade el periodo si tiene alumnos (un mes puede tener alumnos fuera de la parte del rango)
+     */
+    private static long addBucket(List<AlumnoStats.Bucket> buckets, String period, long count) {
+        if (count > 0) {
+            buckets.add(new AlumnoStats.Bucket(period, count));
+        }
+        return count;
+    }
+
+    /**
+     * Dominio del email tal y como lo agrupa countByEmailDomain: lo que sigue a la primera @, en minúsculas
+     */
+    static String domain(String email) {
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+}
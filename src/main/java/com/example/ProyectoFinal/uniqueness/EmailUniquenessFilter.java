@@ -0,0 +1,97 @@
+package com.example.ProyectoFinal.uniqueness;
+
+import com.example.ProyectoFinal.repository.AlumnoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtro en memoria de los emails registrados, para comprobar la unicidad sin consultar
+ * la base de datos en el caso habitual (email nuevo)
+ * 
+ * Es un filtro de Bloom de emails normalizados (sin espacios, en minúsculas): si responde
+ * que un email no está, seguro que no existe y se omite la consulta; si responde que puede
+ * estar, se confirma con una consulta por el índice único de la columna email
+ * 
+ * Se carga desde la base de datos al arrancar y AlumnoService añade cada email antes de
+ * escribirlo, incluso si la transacción acaba revirtiéndose (solo provoca un falso positivo).
+ * Los emails eliminados o sustituidos siguen en el filtro por la misma razón; mientras no
+ * esté cargado, todos los emails se comprueban en la base de datos
+ */
+@Component
+public class EmailUniquenessFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailUniquenessFilter.class);
+
+    private final AlumnoRepository alumnoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BloomFilter filter;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public EmailUniquenessFilter(AlumnoRepository alumnoRepository, TransactionTemplate transactionTemplate,
+                                 @Value("${alumnos.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${alumnos.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.alumnoRepository = alumnoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Carga los emails existentes al arrancar la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    /**
+     * Añade al filtro todos los emails de la base de datos
+     * Los emails añadidos mientras tanto no se pierden: el filtro solo acumula bits
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = alumnoRepository.streamAllEmails()) {
+                emails.forEach(email -> {
+                    put(email);
+                    count.incrementAndGet();
+                });
+            }
+        });
+        ready = true;
+        log.info("Filtro de emails cargado: {} emails en {} ms ({} KB, {} funciones hash)",
+                count.get(), (System.nanoTime() - start) / 1_000_000, filter.sizeInBytes() / 1024, filter.hashCount());
+    }
+
+    /**
+     * Indica si el email puede estar registrado
+     * 
+     * @return false si seguro que no está registrado; true si puede estarlo o el filtro no está cargado
+     */
+    public boolean mightExist(String email) {
+        return !ready || filter.mightContain(normalize(email));
+    }
+
+    /**
+     * Registra un email en el filtro
+     */
+    public void put(String email) {
+        filter.put(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
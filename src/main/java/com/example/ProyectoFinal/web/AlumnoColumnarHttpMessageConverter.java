@@ -0,0 +1,103 @@
+package com.example.ProyectoFinal.web;
+
+import com.example.ProyectoFinal.dto.AlumnoColumns;
+import com.example.ProyectoFinal.dto.AlumnoColumnsPage;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Serializa listas y páginas de alumnos en formato columnar (ver {@link AlumnoColumns})
+ * 
+ * Solo se aplica cuando el cliente lo pide explícitamente con
+ * Accept: application/vnd.alumnos.columnar; con un Accept genérico o application/json
+ * se mantiene la representación JSON por objetos porque este convertidor se registra
+ * después del de Jackson. El tipo no lleva sufijo +json para que el convertidor de
+ * Jackson (que acepta application/*+json) no lo reclame para otras respuestas
+ */
+public class AlumnoColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.alumnos.columnar";
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final ObjectMapper objectMapper;
+
+    public AlumnoColumnarHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MEDIA_TYPE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz) || Page.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!supports(clazz) || !canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> element = resolved.as(Page.class) != ResolvableType.NONE
+                ? resolved.as(Page.class).resolveGeneric(0)
+                : resolved.as(Collection.class).resolveGeneric(0);
+        return element != null && Alumno.class.isAssignableFrom(element);
+    }
+
+    /**
+     * Sin tipo genérico no se puede saber si la colección contiene alumnos
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        Object columns = body instanceof Page<?> page
+                ? AlumnoColumnsPage.of((Page<Alumno>) page)
+                : AlumnoColumns.of(new ArrayList<>((Collection<Alumno>) body));
+        objectMapper.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), columns);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato columnar solo se admite en respuestas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato columnar solo se admite en respuestas", inputMessage);
+    }
+}
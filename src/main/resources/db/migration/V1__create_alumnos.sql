@@ -0,0 +1,19 @@
+-- Esquema inicial: el mismo que generaba Hibernate con ddl-auto=update
+-- Las bases de datos creadas así (sin historial de Flyway) se marcan como V1 sin ejecutar este script
+
+CREATE SEQUENCE alumnos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE alumnos (
+    id BIGINT NOT NULL,
+    nombre VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    fecha_registro DATE NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_alumnos PRIMARY KEY (id),
+    CONSTRAINT uk_alumnos_email UNIQUE (email)
+);
+
+-- Paginación por cursor: (campo de ordenación, id)
+CREATE INDEX idx_alumnos_nombre_id ON alumnos (nombre, id);
+CREATE INDEX idx_alumnos_fecha_registro_id ON alumnos (fecha_registro, id);
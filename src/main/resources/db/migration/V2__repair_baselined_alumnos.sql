@@ -0,0 +1,16 @@
+-- Completa las bases de datos marcadas como V1 sin ejecutar V1 (creadas con ddl-auto=update):
+-- según la versión con la que se crearon les faltan la secuencia, las columnas de versionado
+-- o los índices del cursor. En una base creada por V1 solo avanza la secuencia (sin efecto)
+
+CREATE SEQUENCE IF NOT EXISTS alumnos_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE alumnos ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE alumnos ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_alumnos_nombre_id ON alumnos (nombre, id);
+CREATE INDEX IF NOT EXISTS idx_alumnos_fecha_registro_id ON alumnos (fecha_registro, id);
+
+-- Los IDs asignados antes por IDENTITY no están en la secuencia. Con el optimizador pooled
+-- (allocationSize = 50) Hibernate usa el valor leído como el último de un bloque de 50,
+-- así que la secuencia debe continuar en max(id) + 50 para que el bloque empiece en max(id) + 1
+ALTER SEQUENCE alumnos_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM alumnos);
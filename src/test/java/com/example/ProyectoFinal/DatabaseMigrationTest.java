@@ -0,0 +1,47 @@
+package com.example.ProyectoFinal;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatabaseMigrationTest {
+
+	private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1");
+	private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+	@AfterEach
+	void tearDown() {
+		jdbc.execute("drop all objects");
+	}
+
+	@Test
+	void completesADatabaseCreatedByDdlAutoUpdateBeforeTheSequence() {
+		// Esquema que generaba Hibernate con IDENTITY, antes de la secuencia y del versionado
+		jdbc.execute("create table alumnos (id bigint generated by default as identity primary key,"
+				+ " nombre varchar(100) not null, email varchar(150) not null unique, fecha_registro date not null)");
+		jdbc.update("insert into alumnos (nombre, email, fecha_registro) values ('Ana', 'ana@ejemplo.com', current_date)");
+		jdbc.update("insert into alumnos (id, nombre, email, fecha_registro) values (120, 'Luis', 'luis@ejemplo.com', current_date)");
+
+		// Misma configuración que application.properties
+		Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+		assertEquals(0, jdbc.queryForObject("select version from alumnos where id = 120", Long.class));
+		assertEquals(0, jdbc.queryForObject("select count(updated_at) from alumnos", Long.class));
+		// Primer bloque de 50 IDs que reserva Hibernate (pooled): valor leído - 49
+		long next = jdbc.queryForObject("select next value for alumnos_seq", Long.class);
+		assertEquals(121, next - 49);
+	}
+
+	@Test
+	void leavesANewDatabaseStartingAtOne() {
+		Flyway.configure().dataSource(dataSource).load().migrate();
+
+		assertEquals(1, jdbc.queryForObject("select next value for alumnos_seq", Long.class) - 49);
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.ProyectoFinal.cache;
+
+import com.example.ProyectoFinal.config.CacheConfig;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlumnoCacheInvalidatorTest {
+
+	private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.ALUMNOS_CACHE);
+	private final AlumnoCacheInvalidator invalidator = new AlumnoCacheInvalidator(cacheManager);
+
+	@Test
+	void anEvictionDuringALoadDiscardsTheLoadedValue() throws Exception {
+		Cache cache = cacheManager.getCache(CacheConfig.ALUMNOS_CACHE);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch committed = new CountDownLatch(1);
+
+		// Lectura que empezó antes de confirmarse la modificación: carga la versión anterior
+		CompletableFuture<Object> reader = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+			loading.countDown();
+			committed.await();
+			return new Alumno(1L, "Ana", "ana@ejemplo.com", LocalDate.now());
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+		CompletableFuture<Void> eviction = CompletableFuture.runAsync(() ->
+				invalidator.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.UPDATED, 1L, null, null)));
+		// La invalidación espera a que termine la carga en curso
+		Thread.sleep(100);
+		assertFalse(eviction.isDone());
+		committed.countDown();
+		reader.get(5, TimeUnit.SECONDS);
+		eviction.get(5, TimeUnit.SECONDS);
+
+		assertNull(cache.get(1L));
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.ProyectoFinal.columnar;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlumnoColumnStoreTest {
+
+	private final DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:column-store;DB_CLOSE_DELAY=-1");
+	private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+	private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void setUp() {
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		for (long id = 1; id <= 5; id++) {
+			insert(id, "Alumno " + id, "alumno" + id + "@ejemplo.com");
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbc.execute("drop all objects");
+	}
+
+	@Test
+	void servesPagesAndRangesByIdAndAppliesCommittedChanges() {
+		AlumnoColumnStore store = store();
+		store.afterSingletonsInstantiated();
+		assertTrue(store.isReady());
+		assertEquals(List.of(2L, 3L), ids(store.findPage(1, 2, true)));
+		assertEquals(List.of(5L, 4L), ids(store.findPage(0, 2, false)));
+		assertEquals(List.of(3L, 2L, 1L), ids(store.findAfter(4L, false, 10)));
+
+		// Los cambios de una transacción se aplican al confirmarla, no antes
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbc.update("update alumnos set nombre = 'Ana María', version = version + 1 where id = 2");
+			jdbc.update("delete from alumnos where id = 3");
+			insert(9, "Luis", "luis@ejemplo.com");
+			store.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.UPDATED, 2L, null, null));
+			store.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.DELETED, 3L, null, null));
+			store.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.CREATED, 9L, null, null));
+			assertEquals("Alumno 2", store.findById(2).getNombre());
+		});
+
+		Alumno alumno = store.findById(2);
+		assertEquals("Ana María", alumno.getNombre());
+		assertEquals(1, alumno.getVersion());
+		assertNull(store.findById(3));
+		assertEquals(List.of(4L, 5L, 9L), ids(store.findAfter(2L, true, 10)));
+		assertEquals(5, store.count());
+	}
+
+	@Test
+	void restartsFromTheSnapshotOnlyIfItMatchesTheDatabase() {
+		AlumnoColumnStore store = store();
+		store.afterSingletonsInstantiated();
+		store.destroy();
+		Path snapshot = directory.resolve("alumnos.columns");
+		assertTrue(Files.exists(snapshot));
+
+		AlumnoColumnStore restarted = store();
+		assertTrue(restarted.loadSnapshot());
+		assertFalse(Files.exists(snapshot));
+		assertEquals(store.findAll().stream().map(Alumno::getEmail).toList(),
+				restarted.findAll().stream().map(Alumno::getEmail).toList());
+		assertEquals(store.findVersionById(4), restarted.findVersionById(4));
+
+		// Un alumno insertado con la aplicación parada invalida la copia guardada
+		restarted.destroy();
+		insert(6, "Eva", "eva@ejemplo.com");
+		assertFalse(store().loadSnapshot());
+	}
+
+	@Test
+	void discardsTheSnapshotIfARowChangedWhileStopped() {
+		AlumnoColumnStore store = store();
+		store.afterSingletonsInstantiated();
+		store.destroy();
+
+		// Mismo número de alumnos y mismo ID máximo, pero un alumno modificado con la aplicación parada
+		jdbc.update("update alumnos set nombre = 'Ana María', version = version + 1,"
+				+ " updated_at = dateadd(second, 1, updated_at) where id = 2");
+		AlumnoColumnStore restarted = store();
+		assertFalse(restarted.loadSnapshot());
+		restarted.afterSingletonsInstantiated();
+		assertEquals("Ana María", restarted.findById(2).getNombre());
+	}
+
+	private AlumnoColumnStore store() {
+		return new AlumnoColumnStore(dataSource, transactionManager, new SimpleMeterRegistry(),
+				directory.resolve("alumnos.columns").toString());
+	}
+
+	private void insert(long id, String nombre, String email) {
+		jdbc.update("insert into alumnos (id, nombre, email, fecha_registro, updated_at)"
+				+ " values (?, ?, ?, current_date, current_timestamp)", id, nombre, email);
+	}
+
+	private static List<Long> ids(List<Alumno> alumnos) {
+		return alumnos.stream().map(Alumno::getId).toList();
+	}
+}
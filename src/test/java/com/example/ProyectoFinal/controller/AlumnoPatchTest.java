@@ -0,0 +1,76 @@
+package com.example.ProyectoFinal.controller;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.service.AlumnoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:alumno-patch;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class AlumnoPatchTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AlumnoService alumnoService;
+
+	@Test
+	void patchingTheEmailBumpsTheVersionChecksIfMatchAndMovesTheDomainCounters() throws Exception {
+		long id = alumnoService.createAlumno(new Alumno(null, "Ana", "ana@uno.com", LocalDate.now())).getId();
+
+		patchAlumno(id, null, "{\"email\": \"ana@dos.com\"}").andExpect(status().isNoContent());
+		mockMvc.perform(get("/api/alumnos/{id}", id).with(httpBasic("admin", "password123")))
+				.andExpect(jsonPath("$.email").value("ana@dos.com"))
+				.andExpect(jsonPath("$.version").value(1));
+		mockMvc.perform(get("/api/alumnos/stats").with(httpBasic("admin", "password123")))
+				.andExpect(jsonPath("$.domains[?(@.domain == 'dos.com')].total").value(contains(1)))
+				.andExpect(jsonPath("$.domains[?(@.domain == 'uno.com')]").isEmpty());
+
+		patchAlumno(id, "\"1\"", "{\"email\": \"ana@tres.com\"}")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string("ETag", "\"2\""));
+		patchAlumno(id, "\"1\"", "{\"email\": \"ana@cuatro.com\"}").andExpect(status().isPreconditionFailed());
+		patchAlumno(999_999L, null, "{\"email\": \"nadie@uno.com\"}").andExpect(status().isNotFound());
+	}
+
+	@Test
+	void patchingOnlyTheNombreChecksIfMatchAndExistence() throws Exception {
+		long id = alumnoService.createAlumno(new Alumno(null, "Luis", "luis@cinco.com", LocalDate.now())).getId();
+
+		patchAlumno(id, "\"0\"", "{\"nombre\": \"Luis Miguel\"}")
+				.andExpect(status().isNoContent())
+				.andExpect(header().string("ETag", "\"1\""));
+		patchAlumno(id, "\"0\"", "{\"nombre\": \"Luis M.\"}").andExpect(status().isPreconditionFailed());
+		patchAlumno(999_999L, null, "{\"nombre\": \"Nadie\"}").andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/alumnos/{id}", id).with(httpBasic("admin", "password123")))
+				.andExpect(jsonPath("$.nombre").value("Luis Miguel"))
+				.andExpect(jsonPath("$.version").value(1));
+	}
+
+	private ResultActions patchAlumno(long id, String ifMatch, String body) throws Exception {
+		MockHttpServletRequestBuilder request = patch("/api/alumnos/{id}", id)
+				.with(httpBasic("admin", "password123"))
+				.contentType("application/merge-patch+json")
+				.content(body);
+		if (ifMatch != null) {
+			request.header("If-Match", ifMatch);
+		}
+		return mockMvc.perform(request);
+	}
+}
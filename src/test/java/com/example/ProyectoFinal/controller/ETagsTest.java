@@ -0,0 +1,40 @@
+package com.example.ProyectoFinal.controller;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.BadRequestException;
+import com.example.ProyectoFinal.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTest {
+
+	@Test
+	void parsesStrongIfMatch() {
+		assertEquals(3L, ETags.parseIfMatch("\"3\""));
+		assertNull(ETags.parseIfMatch(null));
+		assertNull(ETags.parseIfMatch("*"));
+		assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("W/\"3\""));
+		assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"abc\""));
+		assertThrows(BadRequestException.class, () -> ETags.parseIfMatch("\"1\", \"2\""));
+	}
+
+	@Test
+	void listETagChangesWithAnyVersion() {
+		Alumno ana = new Alumno(1L, "Ana", "ana@ejemplo.com", null);
+		Alumno luis = new Alumno(2L, "Luis", "luis@ejemplo.com", null);
+		String before = ETags.of(List.of(ana, luis), 2L);
+
+		assertTrue(before.startsWith("W/\""));
+		assertEquals(before, ETags.of(List.of(ana, luis), 2L));
+		luis.setVersion(1);
+		assertNotEquals(before, ETags.of(List.of(ana, luis), 2L));
+		assertNotEquals(ETags.of(List.of(ana, luis), 2L), ETags.of(List.of(ana, luis), 3L));
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.ProyectoFinal.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void shrinksOnSlowRequestsAndGrowsBack() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, Duration.ofMillis(100), 0.5);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		assertFalse(limiter.tryAcquire());
+
+		long now = System.nanoTime() + SECOND;
+		limiter.release(Duration.ofSeconds(1).toNanos(), now);
+		limiter.release(Duration.ofSeconds(1).toNanos(), now);
+		assertEquals(5, limiter.limit());
+
+		for (int i = 0; i < 8; i++) {
+			limiter.release(Duration.ofMillis(10).toNanos(), now);
+		}
+		assertEquals(0, limiter.inFlight());
+		for (int i = 0; i < 30; i++) {
+			assertTrue(limiter.tryAcquire());
+			assertTrue(limiter.tryAcquire());
+			assertTrue(limiter.tryAcquire());
+			limiter.release(Duration.ofMillis(10).toNanos(), now);
+			limiter.release(Duration.ofMillis(10).toNanos(), now);
+			limiter.release(Duration.ofMillis(10).toNanos(), now);
+		}
+		assertTrue(limiter.limit() > 5);
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.ProyectoFinal.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void admitsBurstThenRefillsAtRate() {
+		TokenBucket bucket = new TokenBucket(2, 3, 0);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire(0));
+		}
+		assertEquals(SECOND / 2, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(SECOND / 2));
+		assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+		assertEquals(0, bucket.tryAcquire(10 * SECOND));
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.ProyectoFinal.replica;
+
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlumnoReplicatorTest {
+
+	private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:replicator-primary;DB_CLOSE_DELAY=-1");
+	private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replicator-replica;DB_CLOSE_DELAY=-1");
+	private final JdbcTemplate primaryJdbc = new JdbcTemplate(primary);
+	private final JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+
+	private final AlumnoReplicator replicator = new AlumnoReplicator(primary, Map.of("replica-1", replica),
+			new SimpleMeterRegistry(), Duration.ofSeconds(10), Duration.ofSeconds(30), 100, 10);
+
+	@AfterEach
+	void tearDown() {
+		if (replicator.isRunning()) {
+			replicator.stop();
+		}
+		primaryJdbc.execute("drop all objects");
+		replicaJdbc.execute("drop all objects");
+	}
+
+	@Test
+	void copiesThePrimaryAndKeepsReadsOnItUntilTheReplicaHasTheClientsWrites() throws Exception {
+		Flyway.configure().dataSource(primary).load().migrate();
+		insert(1, "Ana", "ana@ejemplo.com");
+		assertEquals("unavailable", replicator.route("ana").reason());
+
+		replicator.start();
+		await(() -> "replica".equals(replicator.route("ana").reason()));
+		assertEquals(1, count(replicaJdbc));
+
+		// Con el hilo de replicación parado, el cambio de ana queda pendiente
+		replicator.stop();
+		insert(2, "Luis", "luis@ejemplo.com");
+		replicator.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.CREATED, 2L, null, null, "ana"));
+		assertEquals(new AlumnoReplicator.Route(AlumnoReplicator.PRIMARY, "read-your-writes"), replicator.route("ana"));
+		assertEquals("replica-1", replicator.route("luis").target());
+
+		replicator.start();
+		await(() -> "replica".equals(replicator.route("ana").reason()));
+		assertEquals(2, count(replicaJdbc));
+		assertEquals(0, replicator.lagNanos());
+	}
+
+	@Test
+	void sendsReadsToThePrimaryWhenTheReplicaLagsTooMuch() throws Exception {
+		AlumnoReplicator strict = new AlumnoReplicator(primary, Map.of("replica-1", replica),
+				new SimpleMeterRegistry(), Duration.ZERO, Duration.ofSeconds(30), 100, 10);
+		Flyway.configure().dataSource(primary).load().migrate();
+		strict.start();
+		try {
+			await(() -> "replica".equals(strict.route(null).reason()));
+			strict.stop();
+			strict.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.DELETED, 1L, null, null));
+			Thread.sleep(5);
+			assertEquals("lag", strict.route(null).reason());
+		} finally {
+			if (strict.isRunning()) {
+				strict.stop();
+			}
+		}
+	}
+
+	@Test
+	void readsFromPrimaryGetTheChangesTheReplicaHasNotAppliedYet() throws Exception {
+		Flyway.configure().dataSource(primary).load().migrate();
+		insert(1, "Ana", "ana@ejemplo.com");
+		replicator.start();
+		await(() -> "replica".equals(replicator.route(null).reason()));
+
+		// Cambio confirmado que la réplica aún no tiene (por ejemplo, tras invalidar la caché)
+		replicator.stop();
+		primaryJdbc.update("update alumnos set nombre = 'Ana María' where id = 1");
+		replicator.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.UPDATED, 1L, null, null));
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+				primary, Map.of("replica-1", replica), replicator, meterRegistry));
+		TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+		readOnly.setReadOnly(true);
+		String sql = "select nombre from alumnos where id = 1";
+		JdbcTemplate jdbc = new JdbcTemplate(routing);
+
+		assertEquals("Ana", readOnly.execute(status -> jdbc.queryForObject(sql, String.class)));
+		assertEquals("Ana María", readOnly.execute(status ->
+				ReadWriteRoutingDataSource.readFromPrimary(() -> jdbc.queryForObject(sql, String.class))));
+		assertEquals(1, meterRegistry.get(ReadWriteRoutingDataSource.METRIC_NAME)
+				.tag("reason", "primary-only").counter().count());
+	}
+
+	private void insert(long id, String nombre, String email) {
+		primaryJdbc.update("insert into alumnos (id, nombre, email, fecha_registro) values (?, ?, ?, current_date)",
+				id, nombre, email);
+	}
+
+	private static int count(JdbcTemplate jdbc) {
+		return jdbc.queryForObject("select count(*) from alumnos", Integer.class);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Tiempo de espera agotado");
+			Thread.sleep(10);
+		}
+	}
+}
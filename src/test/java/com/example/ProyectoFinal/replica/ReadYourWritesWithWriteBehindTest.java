@@ -0,0 +1,66 @@
+package com.example.ProyectoFinal.replica;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.service.AlumnoService;
+import com.example.ProyectoFinal.service.AlumnoUpdate;
+import com.example.ProyectoFinal.service.AlumnoWriteBehindService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:read-your-writes-primary;DB_CLOSE_DELAY=-1",
+		"alumnos.replica.enabled=true",
+		"alumnos.replica.urls=jdbc:h2:mem:read-your-writes-replica;DB_CLOSE_DELAY=-1",
+		"alumnos.replica.max-lag=1m",
+		"alumnos.write-behind.enabled=true"
+})
+class ReadYourWritesWithWriteBehindTest {
+
+	@Autowired
+	private AlumnoService alumnoService;
+
+	@Autowired
+	private AlumnoWriteBehindService writeBehindService;
+
+	@Autowired
+	private AlumnoReplicator replicator;
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		if (!replicator.isRunning()) {
+			replicator.start();
+		}
+	}
+
+	@Test
+	void anUpdateWrittenBehindKeepsItsAuthorsReadsOnThePrimary() throws Exception {
+		Alumno alumno = alumnoService.createAlumno(new Alumno(null, "Ana", "ana@ejemplo.com", LocalDate.now()));
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!"replica".equals(replicator.route("ana").reason())) {
+			assertTrue(System.nanoTime() < deadline, "Tiempo de espera agotado");
+			Thread.sleep(10);
+		}
+
+		// Con el hilo de replicación parado, la actualización queda pendiente en la réplica
+		replicator.stop();
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "ROLE_USER"));
+		writeBehindService.submit(new AlumnoUpdate(alumno.getId(), "Ana María", "ana@ejemplo.com", null))
+				.get(10, TimeUnit.SECONDS);
+		SecurityContextHolder.clearContext();
+
+		assertEquals(new AlumnoReplicator.Route(AlumnoReplicator.PRIMARY, "read-your-writes"), replicator.route("ana"));
+		assertEquals("replica", replicator.route("luis").reason());
+	}
+}
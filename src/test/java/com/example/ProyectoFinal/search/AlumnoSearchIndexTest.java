@@ -0,0 +1,67 @@
+package com.example.ProyectoFinal.search;
+
+import com.example.ProyectoFinal.dto.AlumnoNombre;
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlumnoSearchIndexTest {
+
+	private AlumnoSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new AlumnoSearchIndex(null, null);
+		create(1L, "José Muñoz");
+		create(2L, "Josefina Pérez");
+		create(3L, "María José López");
+		create(4L, "Ana Jiménez");
+	}
+
+	@Test
+	void ignoresAccentsAndRanksExactMatchesFirst() {
+		SearchHits result = index.search("JOSE", 0, 10);
+		assertEquals(3, result.total());
+		assertEquals(List.of(1L, 3L, 2L), ids(result));
+	}
+
+	@Test
+	void matchesEveryQueryWordByPrefix() {
+		assertEquals(List.of(3L), ids(index.search("mar lop", 0, 10)));
+		assertEquals(List.of(1L), ids(index.search("munoz", 0, 10)));
+	}
+
+	@Test
+	void paginatesRankedResults() {
+		SearchHits secondPage = index.search("jose", 1, 1);
+		assertEquals(3, secondPage.total());
+		assertEquals(List.of(3L), ids(secondPage));
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		AlumnoSnapshot previous = new AlumnoSnapshot(4L, "Ana Jiménez", "ana@ejemplo.com", LocalDate.now());
+		index.onAlumnoChange(AlumnoChangeEvent.updated(previous,
+				new Alumno(4L, "Ana Josefa", "ana@ejemplo.com", LocalDate.now())));
+		index.onAlumnoChange(AlumnoChangeEvent.deleted(
+				new AlumnoSnapshot(1L, "José Muñoz", "jose@ejemplo.com", LocalDate.now())));
+
+		assertEquals(List.of(2L, 4L, 3L), ids(index.search("jos", 0, 10)));
+		assertEquals(0, index.search("jimenez", 0, 10).total());
+	}
+
+	private void create(Long id, String nombre) {
+		index.onAlumnoChange(AlumnoChangeEvent.created(new Alumno(id, nombre, id + "@ejemplo.com", LocalDate.now())));
+	}
+
+	private static List<Long> ids(SearchHits result) {
+		return result.hits().stream().map(AlumnoNombre::id).toList();
+	}
+}
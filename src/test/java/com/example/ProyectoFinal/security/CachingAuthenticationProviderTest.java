@@ -0,0 +1,70 @@
+package com.example.ProyectoFinal.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingAuthenticationProviderTest {
+
+	private final AtomicInteger verifications = new AtomicInteger();
+
+	private final AuthenticationProvider delegate = new AuthenticationProvider() {
+		@Override
+		public Authentication authenticate(Authentication authentication) {
+			verifications.incrementAndGet();
+			if (!"admin".equals(authentication.getName()) || !"secreto".equals(authentication.getCredentials())) {
+				throw new BadCredentialsException("Credenciales inválidas");
+			}
+			return UsernamePasswordAuthenticationToken.authenticated("admin", null,
+					AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+		}
+
+		@Override
+		public boolean supports(Class<?> authentication) {
+			return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+		}
+	};
+
+	private final CachingAuthenticationProvider provider =
+			new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 100);
+
+	@Test
+	void verifiesValidCredentialsOnlyOnce() {
+		for (int i = 0; i < 3; i++) {
+			Authentication result = provider.authenticate(login("admin", "secreto"));
+			assertTrue(result.isAuthenticated());
+			assertEquals("ROLE_ADMIN", result.getAuthorities().iterator().next().getAuthority());
+		}
+		assertEquals(1, verifications.get());
+	}
+
+	@Test
+	void wrongPasswordIsAlwaysVerified() {
+		provider.authenticate(login("admin", "secreto"));
+		assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("admin", "otra")));
+		assertThrows(BadCredentialsException.class, () -> provider.authenticate(login("admin", "otra")));
+		assertEquals(3, verifications.get());
+	}
+
+	@Test
+	void evictForcesVerification() {
+		provider.authenticate(login("admin", "secreto"));
+		provider.evict("admin");
+		provider.authenticate(login("admin", "secreto"));
+		assertEquals(2, verifications.get());
+	}
+
+	private static Authentication login(String username, String password) {
+		return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlumnoWriteBehindServiceTest {
+
+	private final List<List<AlumnoUpdate>> batches = new CopyOnWriteArrayList<>();
+	private final AlumnoService alumnoService = mock(AlumnoService.class);
+
+	@BeforeEach
+	void setUp() {
+		when(alumnoService.updateAlumnos(anyList())).thenAnswer(invocation -> {
+			List<AlumnoUpdate> updates = invocation.getArgument(0);
+			batches.add(updates);
+			return updates.stream()
+					.map(update -> new Alumno(update.id(), update.nombre(), update.email(), null))
+					.toList();
+		});
+	}
+
+	@Test
+	void coalescesUpdatesPerIdAndWritesThemInOneBatch() throws Exception {
+		AlumnoWriteBehindService writeBehind = new AlumnoWriteBehindService(alumnoService, new SimpleMeterRegistry(),
+				100, 2, Duration.ofHours(1), Duration.ofMillis(10), Duration.ofSeconds(5));
+		writeBehind.start();
+
+		CompletableFuture<Alumno> first = writeBehind.submit(new AlumnoUpdate(1L, "Ana", "ana@ejemplo.com", null));
+		CompletableFuture<Alumno> second = writeBehind.submit(new AlumnoUpdate(1L, "Ana María", "ana@ejemplo.com", null));
+		CompletableFuture<Alumno> other = writeBehind.submit(new AlumnoUpdate(2L, "Luis", "luis@ejemplo.com", null));
+
+		assertEquals("Ana María", first.get(5, TimeUnit.SECONDS).getNombre());
+		assertSame(first.get(), second.get());
+		assertEquals("Luis", other.get(5, TimeUnit.SECONDS).getNombre());
+		writeBehind.stop();
+
+		assertEquals(1, batches.size());
+		assertEquals(List.of(1L, 2L), batches.get(0).stream().map(AlumnoUpdate::id).toList());
+	}
+
+	@Test
+	void writesUpdatesWithExpectedVersionSeparatelyAndInOrder() throws Exception {
+		AlumnoWriteBehindService writeBehind = new AlumnoWriteBehindService(alumnoService, new SimpleMeterRegistry(),
+				100, 100, Duration.ofHours(1), Duration.ofMillis(10), Duration.ofSeconds(5));
+		writeBehind.start();
+
+		CompletableFuture<Alumno> first = writeBehind.submit(new AlumnoUpdate(1L, "Ana", "ana@ejemplo.com", 0L));
+		CompletableFuture<Alumno> second = writeBehind.submit(new AlumnoUpdate(1L, "Ana María", "ana@ejemplo.com", 0L));
+		CompletableFuture<Alumno> third = writeBehind.submit(new AlumnoUpdate(1L, "Ana Mª", "ana@ejemplo.com", null));
+		assertEquals(3, writeBehind.pendingCount());
+		writeBehind.stop();
+
+		// Cada una con su resultado, en bloques sucesivos (como máximo una por alumno y bloque)
+		assertEquals("Ana", first.get(0, TimeUnit.SECONDS).getNombre());
+		assertEquals("Ana María", second.get(0, TimeUnit.SECONDS).getNombre());
+		assertEquals("Ana Mª", third.get(0, TimeUnit.SECONDS).getNombre());
+		assertEquals(List.of("Ana", "Ana María", "Ana Mª"),
+				batches.stream().map(batch -> batch.get(0).nombre()).toList());
+		assertEquals(0, writeBehind.pendingCount());
+	}
+
+	@Test
+	void flushesPendingUpdatesOnStop() throws Exception {
+		AlumnoWriteBehindService writeBehind = new AlumnoWriteBehindService(alumnoService, new SimpleMeterRegistry(),
+				100, 100, Duration.ofHours(1), Duration.ofMillis(10), Duration.ofSeconds(5));
+		writeBehind.start();
+		CompletableFuture<Alumno> pending = writeBehind.submit(new AlumnoUpdate(3L, "Eva", "eva@ejemplo.com", null));
+
+		writeBehind.stop();
+
+		assertEquals("Eva", pending.get(0, TimeUnit.SECONDS).getNombre());
+		assertEquals(0, writeBehind.pendingCount());
+	}
+}
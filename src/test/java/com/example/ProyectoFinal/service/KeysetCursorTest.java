@@ -0,0 +1,29 @@
+package com.example.ProyectoFinal.service;
+
+import com.example.ProyectoFinal.entity.Alumno;
+import com.example.ProyectoFinal.exception.BadRequestException;
+import com.example.ProyectoFinal.repository.AlumnoSortKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+	@Test
+	void roundTripsEverySortKey() {
+		Alumno alumno = new Alumno(42L, "Ana | López", "ana@ejemplo.com", LocalDate.of(2024, 9, 1));
+		for (AlumnoSortKey sortKey : AlumnoSortKey.values()) {
+			KeysetCursor cursor = KeysetCursor.after(alumno, sortKey, false);
+			assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+		}
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode("no-es-un-cursor"));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode("djF8Tk9NQlJFfGRlc2N8YWJjfE4x"));
+	}
+}
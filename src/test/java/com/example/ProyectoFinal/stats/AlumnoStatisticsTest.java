@@ -0,0 +1,71 @@
+package com.example.ProyectoFinal.stats;
+
+import com.example.ProyectoFinal.dto.AlumnoPatch;
+import com.example.ProyectoFinal.dto.AlumnoStats;
+import com.example.ProyectoFinal.dto.EmailDomainCount;
+import com.example.ProyectoFinal.event.AlumnoChangeEvent;
+import com.example.ProyectoFinal.event.AlumnoChangeType;
+import com.example.ProyectoFinal.event.AlumnoSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlumnoStatisticsTest {
+
+	private AlumnoStatistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = new AlumnoStatistics(null);
+		create(1L, "ana@ejemplo.com", "2024-01-31");
+		create(2L, "luis@Ejemplo.com", "2024-02-01");
+		create(3L, "eva@otro.org", "2024-02-15");
+		create(4L, "juan@ejemplo.com", "2024-03-01");
+	}
+
+	@Test
+	void countsPerDayWithinTheRange() {
+		AlumnoStats stats = statistics.query(LocalDate.parse("2024-02-01"), LocalDate.parse("2024-02-29"),
+				AlumnoStatistics.Granularity.DAY, 10);
+		assertEquals(4, stats.total());
+		assertEquals(2, stats.count());
+		assertEquals(List.of(new AlumnoStats.Bucket("2024-02-01", 1), new AlumnoStats.Bucket("2024-02-15", 1)),
+				stats.buckets());
+	}
+
+	@Test
+	void countsOnlyTheCoveredDaysOfPartialMonths() {
+		AlumnoStats stats = statistics.query(LocalDate.parse("2024-01-15"), LocalDate.parse("2024-02-10"),
+				AlumnoStatistics.Granularity.MONTH, 10);
+		assertEquals(List.of(new AlumnoStats.Bucket("2024-01", 1), new AlumnoStats.Bucket("2024-02", 1)),
+				stats.buckets());
+
+		AlumnoStats all = statistics.query(null, null, AlumnoStatistics.Granularity.MONTH, 10);
+		assertEquals(LocalDate.parse("2024-01-31"), all.from());
+		assertEquals(LocalDate.parse("2024-03-01"), all.to());
+		assertEquals(4, all.count());
+	}
+
+	@Test
+	void appliesDeletionsAndEmailChanges() {
+		statistics.onAlumnoChange(AlumnoChangeEvent.deleted(
+				new AlumnoSnapshot(4L, "Juan", "juan@ejemplo.com", LocalDate.parse("2024-03-01"))));
+		statistics.onAlumnoChange(AlumnoChangeEvent.patched(1L, new AlumnoPatch(null, "ana@otro.org"),
+				"ana@ejemplo.com"));
+
+		AlumnoStats stats = statistics.query(null, null, AlumnoStatistics.Granularity.DAY, 10);
+		assertEquals(3, stats.total());
+		assertEquals(LocalDate.parse("2024-02-15"), stats.to());
+		assertEquals(List.of(new EmailDomainCount("otro.org", 2), new EmailDomainCount("ejemplo.com", 1)),
+				stats.domains());
+	}
+
+	private void create(Long id, String email, String fecha) {
+		statistics.onAlumnoChange(new AlumnoChangeEvent(AlumnoChangeType.CREATED, id,
+				new AlumnoSnapshot(id, "Alumno " + id, email, LocalDate.parse(fecha)), null));
+	}
+}
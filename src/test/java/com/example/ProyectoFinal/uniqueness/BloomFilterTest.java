@@ -0,0 +1,34 @@
+package com.example.ProyectoFinal.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsInsertedValuesAsMissing() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("alumno" + i + "@ejemplo.com");
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("alumno" + i + "@ejemplo.com"));
+		}
+	}
+
+	@Test
+	void keepsFalsePositiveRateNearTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("alumno" + i + "@ejemplo.com");
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("otro" + i + "@ejemplo.com")) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+	}
+}